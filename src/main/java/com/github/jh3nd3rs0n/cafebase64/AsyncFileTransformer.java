@@ -0,0 +1,342 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+final class AsyncFileTransformer {
+
+	private static final class PendingRead {
+
+		private final ByteBuffer buffer;
+		private final AsynchronousFileChannel channel;
+		private Future<Integer> future;
+		private final long position;
+
+		public PendingRead(
+				final AsynchronousFileChannel ch,
+				final ByteBuffer b,
+				final long pos) {
+			this.buffer = b;
+			this.channel = ch;
+			this.future = ch.read(b, pos);
+			this.position = pos;
+		}
+
+		public ByteBuffer await() throws IOException {
+			while (true) {
+				int n = AsyncFileTransformer.await(this.future);
+				if (n == -1 || !this.buffer.hasRemaining()) {
+					break;
+				}
+				this.future = this.channel.read(
+						this.buffer, this.position + this.buffer.position());
+			}
+			this.buffer.flip();
+			return this.buffer;
+		}
+
+	}
+
+	private static final class PendingWrite {
+
+		private final List<ByteBuffer> buffers;
+		private final AsynchronousFileChannel channel;
+		private final List<Future<Integer>> futures;
+		private final long position;
+
+		public PendingWrite(
+				final AsynchronousFileChannel ch,
+				final ByteBuffer b,
+				final long pos) {
+			this(ch, Collections.singletonList(b), pos);
+		}
+
+		public PendingWrite(
+				final AsynchronousFileChannel ch,
+				final List<ByteBuffer> bs,
+				final long pos) {
+			this.buffers = bs;
+			this.channel = ch;
+			this.futures = new ArrayList<Future<Integer>>(bs.size());
+			for (ByteBuffer b : bs) {
+				this.futures.add(ch.write(b, pos + b.position()));
+			}
+			this.position = pos;
+		}
+
+		public void await() throws IOException {
+			for (int i = 0; i < this.buffers.size(); i++) {
+				ByteBuffer b = this.buffers.get(i);
+				while (true) {
+					AsyncFileTransformer.await(this.futures.get(i));
+					if (!b.hasRemaining()) {
+						break;
+					}
+					this.futures.set(i, this.channel.write(
+							b, this.position + b.position()));
+				}
+			}
+		}
+
+		public void cancel() {
+			for (Future<Integer> future : this.futures) {
+				future.cancel(true);
+			}
+		}
+
+	}
+
+	private static final int DEFAULT_MAX_PENDING_OPERATIONS = 8;
+
+	private static int await(final Future<Integer> future) throws IOException {
+		try {
+			return future.get().intValue();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			InterruptedIOException iioe = new InterruptedIOException();
+			iioe.initCause(e);
+			throw iioe;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private final int chunkLength;
+	private final int maxPendingOperations;
+
+	AsyncFileTransformer() {
+		this(
+				Math.max(3, BufferPolicy.blockLength(
+						BufferPolicy.Source.REGULAR_FILE,
+						EngineSelector.UNKNOWN_LENGTH) / 3 * 3),
+				DEFAULT_MAX_PENDING_OPERATIONS);
+	}
+
+	AsyncFileTransformer(final int chunkLen, final int maxPendingOps) {
+		if (chunkLen <= 0 || chunkLen % 3 != 0) {
+			throw new IllegalArgumentException(String.format(
+					"chunk length must be a positive multiple of 3: %s",
+					chunkLen));
+		}
+		if (maxPendingOps <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"maximum number of pending operations must be positive: "
+					+ "%s",
+					maxPendingOps));
+		}
+		this.chunkLength = chunkLen;
+		this.maxPendingOperations = maxPendingOps;
+	}
+
+	CafeBase64Result decode(
+			final AsynchronousFileChannel inChannel,
+			final AsynchronousFileChannel outChannel,
+			final boolean garbageIgnored) throws IOException {
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		int n = this.maxPendingOperations;
+		ByteBuffer[] readBuffers = new ByteBuffer[n];
+		byte[][] writeBuffers = new byte[n][];
+		for (int i = 0; i < n; i++) {
+			readBuffers[i] = ByteBuffer.allocate(this.chunkLength);
+			writeBuffers[i] = new byte[
+			        CafeBase64Decoder.maxDecodedLength(this.chunkLength) + 2];
+		}
+		Deque<PendingRead> pendingReads = new ArrayDeque<PendingRead>();
+		Deque<PendingWrite> pendingWrites = new ArrayDeque<PendingWrite>();
+		try {
+			boolean sparse = outChannel.size() == 0L;
+			long size = inChannel.size();
+			long chunkCount = (size + this.chunkLength - 1L) / this.chunkLength;
+			long nextChunk = 0L;
+			long bytesRead = 0L;
+			long bytesWritten = 0L;
+			for (long chunk = 0L; chunk < chunkCount; chunk++) {
+				while (nextChunk < chunkCount
+						&& pendingReads.size() < n) {
+					ByteBuffer b = readBuffers[(int) (nextChunk % n)];
+					b.clear();
+					pendingReads.addLast(new PendingRead(
+							inChannel, b, nextChunk * this.chunkLength));
+					nextChunk++;
+				}
+				ByteBuffer src = pendingReads.removeFirst().await();
+				if (pendingWrites.size() == n) {
+					pendingWrites.removeFirst().await();
+				}
+				byte[] dst = writeBuffers[(int) (chunk % n)];
+				int dstLength = decoder.decode(
+						src.array(), 0, src.remaining(), dst, 0);
+				if (chunk == chunkCount - 1L) {
+					dstLength += decoder.finish(dst, dstLength);
+				}
+				bytesRead += src.remaining();
+				ByteBuffer b = ByteBuffer.wrap(dst, 0, dstLength);
+				pendingWrites.addLast(sparse ?
+						new PendingWrite(
+								outChannel,
+								SparseFileWriter.dataRuns(b, bytesWritten),
+								bytesWritten) :
+						new PendingWrite(outChannel, b, bytesWritten));
+				bytesWritten += dstLength;
+			}
+			while (!pendingWrites.isEmpty()) {
+				pendingWrites.removeFirst().await();
+			}
+			if (outChannel.size() < bytesWritten) {
+				new PendingWrite(
+						outChannel,
+						ByteBuffer.allocate(1),
+						bytesWritten - 1L).await();
+			}
+			outChannel.truncate(bytesWritten);
+			return new CafeBase64Result(bytesRead, bytesWritten);
+		} finally {
+			for (PendingRead pendingRead : pendingReads) {
+				pendingRead.future.cancel(true);
+			}
+			for (PendingWrite pendingWrite : pendingWrites) {
+				pendingWrite.cancel();
+			}
+		}
+	}
+
+	CafeBase64Result decode(
+			final Path in,
+			final AsynchronousFileChannel outChannel,
+			final boolean garbageIgnored) throws IOException {
+		try (AsynchronousFileChannel inChannel = AsynchronousFileChannel.open(
+				in, StandardOpenOption.READ)) {
+			return this.decode(inChannel, outChannel, garbageIgnored);
+		}
+	}
+
+	CafeBase64Result decode(
+			final Path in,
+			final Path out,
+			final boolean garbageIgnored) throws IOException {
+		try (AsynchronousFileChannel inChannel = AsynchronousFileChannel.open(
+				in, StandardOpenOption.READ);
+				AsynchronousFileChannel outChannel =
+						AsynchronousFileChannel.open(
+								out,
+								StandardOpenOption.WRITE,
+								StandardOpenOption.CREATE)) {
+			return this.decode(inChannel, outChannel, garbageIgnored);
+		}
+	}
+
+	CafeBase64Result encode(
+			final AsynchronousFileChannel inChannel,
+			final AsynchronousFileChannel outChannel,
+			final int columnLimit) throws IOException {
+		CafeBase64Encoder.checkColumnLimit(columnLimit);
+		int lineSeparatorLength = CafeBase64Encoder.lineSeparatorLength();
+		int n = this.maxPendingOperations;
+		ByteBuffer[] readBuffers = new ByteBuffer[n];
+		byte[][] writeBuffers = new byte[n][];
+		for (int i = 0; i < n; i++) {
+			readBuffers[i] = ByteBuffer.allocate(this.chunkLength);
+			writeBuffers[i] = new byte[new CafeBase64Encoder(
+					columnLimit).maxEncodedLength(this.chunkLength)];
+		}
+		Deque<PendingRead> pendingReads = new ArrayDeque<PendingRead>();
+		Deque<PendingWrite> pendingWrites = new ArrayDeque<PendingWrite>();
+		try {
+			long size = inChannel.size();
+			long chunkCount = (size + this.chunkLength - 1L) / this.chunkLength;
+			long nextChunk = 0L;
+			long bytesRead = 0L;
+			long bytesWritten = 0L;
+			for (long chunk = 0L; chunk < chunkCount; chunk++) {
+				while (nextChunk < chunkCount
+						&& pendingReads.size() < n) {
+					ByteBuffer b = readBuffers[(int) (nextChunk % n)];
+					b.clear();
+					pendingReads.addLast(new PendingRead(
+							inChannel, b, nextChunk * this.chunkLength));
+					nextChunk++;
+				}
+				ByteBuffer src = pendingReads.removeFirst().await();
+				if (chunk < chunkCount - 1L
+						&& src.remaining() != this.chunkLength) {
+					throw new IOException(
+							"input changed size during conversion");
+				}
+				if (pendingWrites.size() == n) {
+					pendingWrites.removeFirst().await();
+				}
+				long byteOffset = chunk * this.chunkLength;
+				CafeBase64Encoder encoder = new CafeBase64Encoder(
+						columnLimit, byteOffset);
+				byte[] dst = writeBuffers[(int) (chunk % n)];
+				int dstLength = encoder.encode(
+						src.array(), 0, src.remaining(), dst, 0);
+				if (chunk == chunkCount - 1L) {
+					dstLength += encoder.finish(dst, dstLength);
+				}
+				bytesRead += src.remaining();
+				bytesWritten += dstLength;
+				pendingWrites.addLast(new PendingWrite(
+						outChannel,
+						ByteBuffer.wrap(dst, 0, dstLength),
+						CafeBase64Encoder.encodedOffset(
+								byteOffset, columnLimit, lineSeparatorLength)));
+			}
+			while (!pendingWrites.isEmpty()) {
+				pendingWrites.removeFirst().await();
+			}
+			outChannel.truncate(bytesWritten);
+			return new CafeBase64Result(bytesRead, bytesWritten);
+		} finally {
+			for (PendingRead pendingRead : pendingReads) {
+				pendingRead.future.cancel(true);
+			}
+			for (PendingWrite pendingWrite : pendingWrites) {
+				pendingWrite.cancel();
+			}
+		}
+	}
+
+	CafeBase64Result encode(
+			final Path in,
+			final AsynchronousFileChannel outChannel,
+			final int columnLimit) throws IOException {
+		try (AsynchronousFileChannel inChannel = AsynchronousFileChannel.open(
+				in, StandardOpenOption.READ)) {
+			return this.encode(inChannel, outChannel, columnLimit);
+		}
+	}
+
+	CafeBase64Result encode(
+			final Path in,
+			final Path out,
+			final int columnLimit) throws IOException {
+		CafeBase64Encoder.checkColumnLimit(columnLimit);
+		try (AsynchronousFileChannel inChannel = AsynchronousFileChannel.open(
+				in, StandardOpenOption.READ);
+				AsynchronousFileChannel outChannel =
+						AsynchronousFileChannel.open(
+								out,
+								StandardOpenOption.WRITE,
+								StandardOpenOption.CREATE)) {
+			return this.encode(inChannel, outChannel, columnLimit);
+		}
+	}
+
+}
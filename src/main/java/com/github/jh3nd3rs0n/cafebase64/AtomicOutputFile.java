@@ -0,0 +1,202 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class AtomicOutputFile implements Closeable {
+
+	private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+	private static void copyAttributes(final Path source, final Path target)
+			throws IOException {
+		PosixFileAttributeView sourceView = Files.getFileAttributeView(
+				source, PosixFileAttributeView.class);
+		PosixFileAttributeView targetView = Files.getFileAttributeView(
+				target, PosixFileAttributeView.class);
+		if (sourceView == null || targetView == null) {
+			return;
+		}
+		PosixFileAttributes sourceAttributes;
+		try {
+			sourceAttributes = sourceView.readAttributes();
+		} catch (NoSuchFileException e) {
+			return;
+		}
+		copyOwnership(sourceAttributes, targetView);
+		targetView.setPermissions(sourceAttributes.permissions());
+	}
+
+	private static void copyOwnership(
+			final PosixFileAttributes sourceAttributes,
+			final PosixFileAttributeView targetView) throws IOException {
+		PosixFileAttributes targetAttributes = targetView.readAttributes();
+		try {
+			if (!sourceAttributes.owner().equals(targetAttributes.owner())) {
+				targetView.setOwner(sourceAttributes.owner());
+			}
+			if (!sourceAttributes.group().equals(targetAttributes.group())) {
+				targetView.setGroup(sourceAttributes.group());
+			}
+		} catch (FileSystemException e) {
+			return;
+		}
+	}
+
+	static AtomicOutputFile newExclusiveInstance(final Path p)
+			throws IOException {
+		Path target = resolveTarget(p);
+		Path tempPath = target.toAbsolutePath().getParent().resolve(
+				String.format(
+						".%s%s", target.getFileName(), TEMPORARY_FILE_SUFFIX));
+		Files.createFile(tempPath);
+		try {
+			return new AtomicOutputFile(p, tempPath);
+		} catch (IOException e) {
+			Files.deleteIfExists(tempPath);
+			throw e;
+		} catch (RuntimeException e) {
+			Files.deleteIfExists(tempPath);
+			throw e;
+		}
+	}
+
+	private static Path resolveTarget(final Path p) throws IOException {
+		Path target = p;
+		if (Files.isSymbolicLink(target) && Files.exists(target)) {
+			target = target.toRealPath();
+		}
+		if (Files.isDirectory(target)) {
+			throw new IOException(String.format("%s is a directory", p));
+		}
+		return target;
+	}
+
+	private AsynchronousFileChannel asynchronousChannel;
+	private final FileChannel channel;
+	private boolean committed;
+	private final Path path;
+	private boolean retained;
+	private final Path temporaryPath;
+
+	AtomicOutputFile(final Path p) throws IOException {
+		Path target = resolveTarget(p);
+		Path parent = target.toAbsolutePath().getParent();
+		FileChannel ch = null;
+		Path tempPath = null;
+		while (ch == null) {
+			tempPath = parent.resolve(String.format(
+					".%s.%016x%s",
+					target.getFileName(),
+					ThreadLocalRandom.current().nextLong(),
+					TEMPORARY_FILE_SUFFIX));
+			try {
+				ch = FileChannel.open(
+						tempPath,
+						StandardOpenOption.CREATE_NEW,
+						StandardOpenOption.WRITE);
+			} catch (FileAlreadyExistsException e) {
+				continue;
+			}
+		}
+		this.asynchronousChannel = null;
+		this.channel = ch;
+		this.committed = false;
+		this.path = target;
+		this.retained = false;
+		this.temporaryPath = tempPath;
+	}
+
+	AtomicOutputFile(final Path p, final Path tempPath) throws IOException {
+		Path target = resolveTarget(p);
+		if (!target.toAbsolutePath().getParent().equals(
+				tempPath.toAbsolutePath().getParent())) {
+			throw new IOException(String.format(
+					"%s is not in the same directory as %s", tempPath, p));
+		}
+		this.asynchronousChannel = null;
+		this.channel = FileChannel.open(tempPath, StandardOpenOption.WRITE);
+		this.committed = false;
+		this.path = target;
+		this.retained = false;
+		this.temporaryPath = tempPath;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.committed) {
+			return;
+		}
+		if (this.retained) {
+			this.closeChannels();
+			return;
+		}
+		try {
+			this.closeChannels();
+		} finally {
+			Files.deleteIfExists(this.temporaryPath);
+		}
+	}
+
+	private void closeChannels() throws IOException {
+		try {
+			this.channel.close();
+		} finally {
+			if (this.asynchronousChannel != null) {
+				this.asynchronousChannel.close();
+			}
+		}
+	}
+
+	void commit(final long length) throws IOException {
+		if (this.asynchronousChannel != null) {
+			this.asynchronousChannel.truncate(length);
+		} else {
+			this.channel.truncate(length);
+		}
+		this.closeChannels();
+		copyAttributes(this.path, this.temporaryPath);
+		Files.move(
+				this.temporaryPath,
+				this.path,
+				StandardCopyOption.ATOMIC_MOVE);
+		this.committed = true;
+	}
+
+	AsynchronousFileChannel getAsynchronousChannel() throws IOException {
+		if (this.asynchronousChannel == null) {
+			this.channel.close();
+			this.asynchronousChannel = AsynchronousFileChannel.open(
+					this.temporaryPath, StandardOpenOption.WRITE);
+		}
+		return this.asynchronousChannel;
+	}
+
+	FileChannel getChannel() {
+		return this.channel;
+	}
+
+	Path getPath() {
+		return this.path;
+	}
+
+	Path getTemporaryPath() {
+		return this.temporaryPath;
+	}
+
+	void retain() {
+		this.retained = true;
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+final class BufferPolicy {
+
+	public static enum Source {
+
+		MAPPED_FILE,
+
+		PIPE,
+
+		REGULAR_FILE;
+
+	}
+
+	private static final class CacheSizeHolder {
+
+		public static final int CACHE_SIZE = readCacheSize();
+
+	}
+
+	static final String BUFFER_SIZE_PROPERTY =
+			"com.github.jh3nd3rs0n.cafebase64.bufferSize";
+	static final int MAX_BUFFER_SIZE = 64 * 1024 * 1024;
+
+	private static final int CACHE_LEVEL = 2;
+	private static final String CACHE_DIRECTORY =
+			"/sys/devices/system/cpu/cpu0/cache";
+	private static final int DEFAULT_CACHE_SIZE = 256 * 1024;
+	private static final Object LOCK = new Object();
+	private static final int MAX_BLOCK_LENGTH = 1024 * 1024;
+	private static final int MIN_BLOCK_LENGTH = 4096;
+	private static final int PIPE_BLOCK_LENGTH = 64 * 1024;
+
+	private static int bufferSize = 0;
+
+	public static int blockLength(
+			final Source source, final long knownLength) {
+		int size = getBufferSize();
+		if (size > 0) {
+			if (knownLength != EngineSelector.UNKNOWN_LENGTH
+					&& knownLength < size) {
+				return (int) Math.max(1L, knownLength);
+			}
+			return size;
+		}
+		int length;
+		switch (source) {
+		case MAPPED_FILE:
+			length = getCacheSize() / 4;
+			break;
+		case PIPE:
+			length = PIPE_BLOCK_LENGTH;
+			break;
+		default:
+			length = MAX_BLOCK_LENGTH;
+			break;
+		}
+		if (knownLength != EngineSelector.UNKNOWN_LENGTH
+				&& knownLength < length) {
+			length = (int) knownLength;
+		}
+		return Math.min(MAX_BLOCK_LENGTH, Math.max(MIN_BLOCK_LENGTH, length));
+	}
+
+	public static int getBufferSize() {
+		synchronized (LOCK) {
+			if (bufferSize > 0) {
+				return bufferSize;
+			}
+		}
+		return Math.min(MAX_BUFFER_SIZE, Math.max(0, Integer.getInteger(
+				BUFFER_SIZE_PROPERTY, 0).intValue()));
+	}
+
+	static int getBufferSizeOverride() {
+		synchronized (LOCK) {
+			return bufferSize;
+		}
+	}
+
+	public static int getCacheSize() {
+		return CacheSizeHolder.CACHE_SIZE;
+	}
+
+	static int parseCacheSize(final String string) {
+		String s = string.trim();
+		int multiplier = 1;
+		if (s.endsWith("K")) {
+			multiplier = 1024;
+		} else if (s.endsWith("M")) {
+			multiplier = 1024 * 1024;
+		}
+		if (multiplier > 1) {
+			s = s.substring(0, s.length() - 1);
+		}
+		long size = Long.parseLong(s) * multiplier;
+		if (size <= 0L || size > Integer.MAX_VALUE) {
+			throw new NumberFormatException(String.format(
+					"cache size out of range: %s", string));
+		}
+		return (int) size;
+	}
+
+	private static int readCacheSize() {
+		Path dir = Paths.get(CACHE_DIRECTORY);
+		if (!Files.isDirectory(dir)) {
+			return DEFAULT_CACHE_SIZE;
+		}
+		int cacheSize = 0;
+		try (DirectoryStream<Path> indexes = Files.newDirectoryStream(
+				dir, "index*")) {
+			for (Path index : indexes) {
+				String level = new String(
+						Files.readAllBytes(index.resolve("level")),
+						StandardCharsets.US_ASCII).trim();
+				if (!level.equals(Integer.toString(CACHE_LEVEL))) {
+					continue;
+				}
+				cacheSize = Math.max(cacheSize, parseCacheSize(new String(
+						Files.readAllBytes(index.resolve("size")),
+						StandardCharsets.US_ASCII)));
+			}
+		} catch (IOException e) {
+			return DEFAULT_CACHE_SIZE;
+		} catch (NumberFormatException e) {
+			return DEFAULT_CACHE_SIZE;
+		}
+		return (cacheSize == 0) ? DEFAULT_CACHE_SIZE : cacheSize;
+	}
+
+	public static void setBufferSize(final int size) {
+		if (size < 0 || size > MAX_BUFFER_SIZE) {
+			throw new IllegalArgumentException(String.format(
+					"buffer size must be between 0 and %s (inclusive): %s",
+					MAX_BUFFER_SIZE,
+					size));
+		}
+		synchronized (LOCK) {
+			bufferSize = size;
+		}
+	}
+
+	private BufferPolicy() { }
+
+}
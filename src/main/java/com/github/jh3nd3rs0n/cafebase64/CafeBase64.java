@@ -2,98 +2,435 @@ package com.github.jh3nd3rs0n.cafebase64;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
-import java.io.Writer;
-import java.util.Arrays;
-import java.util.Base64;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public enum CafeBase64 {
 	
 	INSTANCE;
 	
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		
+		private final String namePrefix;
+		private final AtomicInteger threadNumber;
+		
+		public DaemonThreadFactory(final String prefix) {
+			this.namePrefix = prefix;
+			this.threadNumber = new AtomicInteger(1);
+		}
+		
+		@Override
+		public Thread newThread(final Runnable r) {
+			Thread thread = new Thread(r, String.format(
+					"%s-%s", this.namePrefix, this.threadNumber.getAndIncrement()));
+			thread.setDaemon(true);
+			return thread;
+		}
+		
+	}
+	
+	private static final class DefaultExecutorHolder {
+		
+		private static final int QUEUE_CAPACITY = 1024;
+		
+		public static final ExecutorService EXECUTOR = new ThreadPoolExecutor(
+				Runtime.getRuntime().availableProcessors(), 
+				Runtime.getRuntime().availableProcessors(), 
+				0L, 
+				TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), 
+				new DaemonThreadFactory("cafebase64-async"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		
+	}
+	
+	private static final int CHAR_CHUNK_LENGTH = 4096;
+	
+	private static int blockLength(final long knownLength) {
+		return BufferPolicy.blockLength(
+				(knownLength == EngineSelector.UNKNOWN_LENGTH) ? 
+						BufferPolicy.Source.PIPE : 
+						BufferPolicy.Source.REGULAR_FILE, 
+				knownLength);
+	}
+	
+	private static void checkRange(
+			final int offset, final int length, final int arrayLength) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException(String.format(
+					"offset %s and length %s out of bounds for length %s", 
+					offset, length, arrayLength));
+		}
+	}
+	
+	private static <T> void execute(
+			final CompletableFuture<T> future, 
+			final Callable<T> task, 
+			final Executor executor) {
+		Objects.requireNonNull(executor, "executor must not be null");
+		try {
+			executor.execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					if (future.isDone()) {
+						return;
+					}
+					try {
+						future.complete(task.call());
+					} catch (Throwable t) {
+						future.completeExceptionally(t);
+					}
+				}
+				
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+	}
+	
+	private static EngineSelector newEngineSelector() {
+		return EngineSelector.newInstance(WorkerPool.getSize());
+	}
+	
+	public int decode(
+			final char[] src,
+			final int offset,
+			final int length,
+			final byte[] dst,
+			final int dstOffset,
+			final boolean garbageIgnored) throws IOException {
+		checkRange(offset, length, src.length);
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		int n = decoder.decode(src, offset, length, dst, dstOffset);
+		return n + decoder.finish(dst, dstOffset + n);
+	}
+	
+	public int decode(
+			final char[] src,
+			final int offset,
+			final int length,
+			final ByteBuffer dst,
+			final boolean garbageIgnored) throws IOException {
+		checkRange(offset, length, src.length);
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		byte[] b = new byte[
+		        CafeBase64Decoder.maxDecodedLength(CHAR_CHUNK_LENGTH)];
+		int total = 0;
+		for (int i = offset; i < offset + length; i += CHAR_CHUNK_LENGTH) {
+			int n = decoder.decode(
+					src, 
+					i, 
+					Math.min(CHAR_CHUNK_LENGTH, offset + length - i), 
+					b, 
+					0);
+			dst.put(b, 0, n);
+			total += n;
+		}
+		int n = decoder.finish(b, 0);
+		dst.put(b, 0, n);
+		return total + n;
+	}
+	
+	public void decode(
+			final char[] src,
+			final int offset,
+			final int length,
+			final OutputStream out,
+			final boolean garbageIgnored) throws IOException {
+		checkRange(offset, length, src.length);
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		byte[] b = new byte[
+		        CafeBase64Decoder.maxDecodedLength(CHAR_CHUNK_LENGTH)];
+		for (int i = offset; i < offset + length; i += CHAR_CHUNK_LENGTH) {
+			out.write(b, 0, decoder.decode(
+					src, 
+					i, 
+					Math.min(CHAR_CHUNK_LENGTH, offset + length - i), 
+					b, 
+					0));
+		}
+		out.write(b, 0, decoder.finish(b, 0));
+		out.flush();
+	}
+	
+	public int decode(
+			final CharSequence src,
+			final int start,
+			final int end,
+			final byte[] dst,
+			final int dstOffset,
+			final boolean garbageIgnored) throws IOException {
+		checkRange(start, end - start, src.length());
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		int n = decoder.decode(src, start, end, dst, dstOffset);
+		return n + decoder.finish(dst, dstOffset + n);
+	}
+	
+	public int decode(
+			final CharSequence src,
+			final int start,
+			final int end,
+			final ByteBuffer dst,
+			final boolean garbageIgnored) throws IOException {
+		checkRange(start, end - start, src.length());
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		byte[] b = new byte[
+		        CafeBase64Decoder.maxDecodedLength(CHAR_CHUNK_LENGTH)];
+		int total = 0;
+		for (int i = start; i < end; i += CHAR_CHUNK_LENGTH) {
+			int n = decoder.decode(
+					src, i, Math.min(i + CHAR_CHUNK_LENGTH, end), b, 0);
+			dst.put(b, 0, n);
+			total += n;
+		}
+		int n = decoder.finish(b, 0);
+		dst.put(b, 0, n);
+		return total + n;
+	}
+	
+	public void decode(
+			final CharSequence src,
+			final int start,
+			final int end,
+			final OutputStream out,
+			final boolean garbageIgnored) throws IOException {
+		checkRange(start, end - start, src.length());
+		CafeBase64Decoder decoder = new CafeBase64Decoder(garbageIgnored);
+		byte[] b = new byte[
+		        CafeBase64Decoder.maxDecodedLength(CHAR_CHUNK_LENGTH)];
+		for (int i = start; i < end; i += CHAR_CHUNK_LENGTH) {
+			out.write(b, 0, decoder.decode(
+					src, i, Math.min(i + CHAR_CHUNK_LENGTH, end), b, 0));
+		}
+		out.write(b, 0, decoder.finish(b, 0));
+		out.flush();
+	}
+	
 	public void decode(
 			final InputStream in, 
 			final OutputStream out, 
 			final boolean garbageIgnored) throws IOException {
-		Reader reader = new InputStreamReader(in);
-		StringBuilder sb = new StringBuilder();
-		Base64.Decoder decoder = Base64.getDecoder();
-		String base64AlphabetChars = 
-				"ABCDEFGHIJKLMNOPQRSTUVWXYZ"
-				+ "abcdefghijklmnopqrstuvwxyz"
-				+ "0123456789"
-				+ "+/=";
-		String acceptedWhitespaceChars = "\r\n";
-		final int groupSize = 4;
-		while (true) {
-			int c = reader.read();
-			if (c == -1) {
-				if (sb.length() > 0) {
-					out.write(decoder.decode(sb.toString()));
-					sb.delete(0, sb.length());
-				}
-				break; 
-			}
-			if (base64AlphabetChars.indexOf(c) == -1) {
-				if (acceptedWhitespaceChars.indexOf(c) == -1 
-						&& !garbageIgnored) {
-					throw new IOException(String.format(
-							"non-alphabet character found: '%s'", (char) c));
-				}
-				continue;
-			}
-			sb.append((char) c);
-			if (sb.length() < groupSize) {
-				continue;
+		long knownLength = EngineSelector.knownLength(in);
+		this.dispatch(
+				in, 
+				out, 
+				new CafeBase64Decoder(garbageIgnored), 
+				knownLength, 
+				newEngineSelector().select(knownLength, false));
+	}
+	
+	public CafeBase64Result decode(
+			final FileChannel in, 
+			final FileChannel out, 
+			final boolean garbageIgnored) throws IOException {
+		long knownLength = EngineSelector.knownLength(in);
+		EngineSelector.Engine engine = 
+				newEngineSelector().select(knownLength, true);
+		if (engine.equals(EngineSelector.Engine.PARALLEL)) {
+			return new ParallelFileDecoder(
+					in, 
+					out, 
+					garbageIgnored, 
+					WorkerPool.get()).decode();
+		}
+		return this.dispatch(
+				Channels.newInputStream(in), 
+				SparseFileWriter.isSparseWritable(out) ? 
+						new ChannelOutputStream(out, true) : 
+						Channels.newOutputStream(out), 
+				new CafeBase64Decoder(garbageIgnored), 
+				knownLength, 
+				engine);
+	}
+	
+	public CafeBase64Result decode(
+			final Path in, 
+			final Path out, 
+			final boolean garbageIgnored) throws IOException {
+		return new AsyncFileTransformer().decode(in, out, garbageIgnored);
+	}
+	
+	public CompletableFuture<CafeBase64Result> decodeAsync(
+			final InputStream in, 
+			final OutputStream out, 
+			final boolean garbageIgnored) {
+		return this.decodeAsync(
+				in, out, garbageIgnored, DefaultExecutorHolder.EXECUTOR);
+	}
+	
+	public CompletableFuture<CafeBase64Result> decodeAsync(
+			final InputStream in, 
+			final OutputStream out, 
+			final boolean garbageIgnored,
+			final Executor executor) {
+		final CompletableFuture<CafeBase64Result> future = 
+				new CompletableFuture<CafeBase64Result>();
+		execute(future, new Callable<CafeBase64Result>() {
+			
+			@Override
+			public CafeBase64Result call() throws IOException {
+				return transform(
+						in, 
+						out, 
+						new CafeBase64Decoder(garbageIgnored), 
+						blockLength(EngineSelector.knownLength(in)), 
+						future);
 			}
-			out.write(decoder.decode(sb.toString()));
-			sb.delete(0, groupSize);
+			
+		}, executor);
+		return future;
+	}
+	
+	public Stream<CafeBase64Chunk> decodeChunks(
+			final ByteBuffer src, final boolean garbageIgnored) {
+		return StreamSupport.stream(
+				new DecodingSpliterator(src, garbageIgnored), false);
+	}
+	
+	public CafeBase64Result decodePipelined(
+			final InputStream in, 
+			final OutputStream out, 
+			final boolean garbageIgnored) throws IOException {
+		return new PipelinedTransformer(
+				in, out, new CafeBase64Decoder(garbageIgnored)).transform();
+	}
+	
+	CafeBase64Result dispatch(
+			final InputStream in, 
+			final OutputStream out, 
+			final CafeBase64Codec codec, 
+			final long knownLength, 
+			final EngineSelector.Engine engine) throws IOException {
+		switch (engine) {
+		case MINIMAL:
+			return this.transform(
+					in, out, codec, (int) Math.max(1L, knownLength), null);
+		case PIPELINED:
+			return new PipelinedTransformer(in, out, codec).transform();
+		default:
+			return this.transform(
+					in, out, codec, blockLength(knownLength), null);
 		}
-		out.flush();
+	}
+	
+	public byte[] encode(final byte[] src, final int columnLimit) {
+		return this.encode(ByteBuffer.wrap(src), columnLimit).array();
+	}
+	
+	public ByteBuffer encode(final ByteBuffer src, final int columnLimit) {
+		return ByteBuffer.wrap(new ParallelEncoder(
+				columnLimit, 
+				WorkerPool.get(), 
+				newEngineSelector().parallelismThreshold()).encode(
+						src));
 	}
 	
 	public void encode(
 			final InputStream in,
 			final OutputStream out,
 			final int columnLimit) throws IOException {
-		if (columnLimit < 0) {
-			throw new IllegalArgumentException(String.format(
-					"integer must be between %s and %s (inclusive)", 
-					0, Integer.MAX_VALUE));
+		CafeBase64Encoder.checkColumnLimit(columnLimit);
+		long knownLength = EngineSelector.knownLength(in);
+		this.dispatch(
+				in, 
+				out, 
+				new CafeBase64Encoder(columnLimit), 
+				knownLength, 
+				newEngineSelector().select(knownLength, false));
+	}
+	
+	public CafeBase64Result encode(
+			final FileChannel in, 
+			final FileChannel out, 
+			final int columnLimit) throws IOException {
+		CafeBase64Encoder.checkColumnLimit(columnLimit);
+		long knownLength = EngineSelector.knownLength(in);
+		EngineSelector.Engine engine = 
+				newEngineSelector().select(knownLength, true);
+		if (engine.equals(EngineSelector.Engine.PARALLEL)) {
+			return new ParallelFileEncoder(
+					in, 
+					out, 
+					columnLimit, 
+					WorkerPool.get()).encode();
 		}
-		Writer writer = new OutputStreamWriter(out);
-		final int groupSize = 3;
-		int column = 0;
-		String lineSeparator = System.getProperty("line.separator");
-		Base64.Encoder encoder = Base64.getEncoder();
-		while (true) {
-			byte[] b = new byte[groupSize];
-			int newLength = in.read(b);
-			if (newLength == -1) {
-				if (columnLimit > 0 && column > 0 && column < columnLimit) {
-					writer.write(lineSeparator);
-				}
-				break; 
-			}
-			b = Arrays.copyOf(b, newLength);
-			String encoded = encoder.encodeToString(b);
-			if (columnLimit > 0) {
-				StringBuilder sb = new StringBuilder();
-				for (char c : encoded.toCharArray()) {
-					sb.append(c);
-					if (++column == columnLimit) {
-						sb.append(lineSeparator);
-						column = 0;
-					}
-				}
-				encoded = sb.toString();
+		return this.dispatch(
+				Channels.newInputStream(in), 
+				Channels.newOutputStream(out), 
+				new CafeBase64Encoder(columnLimit), 
+				knownLength, 
+				engine);
+	}
+	
+	public CafeBase64Result encode(
+			final Path in, 
+			final Path out, 
+			final int columnLimit) throws IOException {
+		return new AsyncFileTransformer().encode(in, out, columnLimit);
+	}
+	
+	public CompletableFuture<CafeBase64Result> encodeAsync(
+			final InputStream in, 
+			final OutputStream out, 
+			final int columnLimit) {
+		return this.encodeAsync(
+				in, out, columnLimit, DefaultExecutorHolder.EXECUTOR);
+	}
+	
+	public CompletableFuture<CafeBase64Result> encodeAsync(
+			final InputStream in, 
+			final OutputStream out, 
+			final int columnLimit,
+			final Executor executor) {
+		CafeBase64Encoder.checkColumnLimit(columnLimit);
+		final CompletableFuture<CafeBase64Result> future = 
+				new CompletableFuture<CafeBase64Result>();
+		execute(future, new Callable<CafeBase64Result>() {
+			
+			@Override
+			public CafeBase64Result call() throws IOException {
+				return transform(
+						in, 
+						out, 
+						new CafeBase64Encoder(columnLimit), 
+						blockLength(EngineSelector.knownLength(in)), 
+						future);
 			}
-			writer.write(encoded);
-		}
-		writer.flush();
+			
+		}, executor);
+		return future;
+	}
+	
+	public Stream<CafeBase64Chunk> encodeChunks(
+			final ByteBuffer src, final int columnLimit) {
+		return StreamSupport.stream(
+				new EncodingSpliterator(src, columnLimit), false);
+	}
+	
+	public CafeBase64Result encodePipelined(
+			final InputStream in, 
+			final OutputStream out, 
+			final int columnLimit) throws IOException {
+		return new PipelinedTransformer(
+				in, out, new CafeBase64Encoder(columnLimit)).transform();
 	}
 	
 	@Override
@@ -101,4 +438,32 @@ public enum CafeBase64 {
 		return CafeBase64.class.getSimpleName();
 	}
 	
+	private CafeBase64Result transform(
+			final InputStream in, 
+			final OutputStream out, 
+			final CafeBase64Codec codec, 
+			final int blockLength, 
+			final Future<?> task) throws IOException {
+		byte[] src = new byte[blockLength];
+		byte[] dst = new byte[codec.maxOutputLength(blockLength)];
+		long bytesRead = 0L;
+		long bytesWritten = 0L;
+		while (task == null || !task.isDone()) {
+			int srcLength = in.read(src);
+			int dstLength;
+			if (srcLength == -1) {
+				dstLength = codec.finish(dst, 0);
+				out.write(dst, 0, dstLength);
+				out.flush();
+				return new CafeBase64Result(
+						bytesRead, bytesWritten + dstLength);
+			}
+			bytesRead += srcLength;
+			dstLength = codec.transform(src, 0, srcLength, dst, 0);
+			out.write(dst, 0, dstLength);
+			bytesWritten += dstLength;
+		}
+		return null;
+	}
+	
 }
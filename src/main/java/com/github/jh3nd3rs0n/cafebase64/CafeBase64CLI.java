@@ -5,6 +5,13 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.github.jh3nd3rs0n.argmatey.ArgMatey;
 import com.github.jh3nd3rs0n.argmatey.ArgMatey.Annotations.Option;
@@ -19,6 +26,46 @@ import com.github.jh3nd3rs0n.argmatey.ArgMatey.TerminationRequestedException;
 
 public final class CafeBase64CLI extends CLI {
 	
+	private static final class FlushPolicyStringConverter 
+		extends StringConverter {
+		
+		@Override
+		public Object convert(final String string) {
+			return FlushPolicy.valueOf(string);
+		}
+		
+	}
+	
+	private static abstract class IntegerStringConverter 
+		extends StringConverter {
+		
+		private final int minValue;
+		
+		public IntegerStringConverter(final int min) {
+			this.minValue = min;
+		}
+		
+		@Override
+		public Object convert(final String string) {
+			String message = String.format(
+					"must be an integer between %s and %s (inclusive)", 
+					this.minValue,
+					Integer.MAX_VALUE);
+			int intValue;
+			try {
+				intValue = Integer.parseInt(string);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(
+						message, e);
+			}
+			if (intValue < this.minValue) {
+				throw new IllegalArgumentException(message);
+			}
+			return Integer.valueOf(intValue);
+		}
+		
+	}
+	
 	private static final class InterpolatedOptionGroupHelpTextProvider 
 		extends ArgMatey.OptionGroupHelpTextProvider {
 
@@ -35,25 +82,53 @@ public final class CafeBase64CLI extends CLI {
 	}
 	
 	private static final class NonnegativeIntegerStringConverter 
-		extends StringConverter {
+		extends IntegerStringConverter {
+		
+		public NonnegativeIntegerStringConverter() {
+			super(0);
+		}
+		
+	}
+	
+	private static final class PositiveIntegerStringConverter 
+		extends IntegerStringConverter {
+		
+		public PositiveIntegerStringConverter() {
+			super(1);
+		}
+		
+	}
+	
+	private static final class SizeStringConverter extends StringConverter {
 		
 		@Override
 		public Object convert(final String string) {
 			String message = String.format(
-					"must be an integer between %s and %s (inclusive)", 
-					0,
-					Integer.MAX_VALUE);
-			int intValue;
+					"must be a size between %s and %s (inclusive), "
+					+ "optionally followed by K or M", 
+					1,
+					BufferPolicy.MAX_BUFFER_SIZE);
+			String digits = string;
+			long multiplier = 1L;
+			if (string.endsWith("K")) {
+				multiplier = 1024L;
+			} else if (string.endsWith("M")) {
+				multiplier = 1024L * 1024L;
+			}
+			if (multiplier > 1L) {
+				digits = string.substring(0, string.length() - 1);
+			}
+			long longValue;
 			try {
-				intValue = Integer.parseInt(string);
+				longValue = Integer.parseInt(digits) * multiplier;
 			} catch (NumberFormatException e) {
 				throw new IllegalArgumentException(
 						message, e);
 			}
-			if (intValue < 0) {
+			if (longValue < 1L || longValue > BufferPolicy.MAX_BUFFER_SIZE) {
 				throw new IllegalArgumentException(message);
 			}
-			return Integer.valueOf(intValue);
+			return Integer.valueOf((int) longValue);
 		}
 		
 	}
@@ -61,11 +136,24 @@ public final class CafeBase64CLI extends CLI {
 	private static final int DECODE_OPTION_GROUP_ORDINAL = 0;
 	private static final int IGNORE_GARBAGE_OPTION_GROUP_ORDINAL = 1;
 	private static final int WRAP_OPTION_GROUP_ORDINAL = 2;
-	private static final int HELP_OPTION_GROUP_ORDINAL = 3;
-	private static final int VERSION_OPTION_GROUP_ORDINAL = 4;
+	private static final int PARALLEL_OPTION_GROUP_ORDINAL = 3;
+	private static final int THREADS_OPTION_GROUP_ORDINAL = 4;
+	private static final int FILES_FROM_OPTION_GROUP_ORDINAL = 5;
+	private static final int NULL_OPTION_GROUP_ORDINAL = 6;
+	private static final int RECURSIVE_OPTION_GROUP_ORDINAL = 7;
+	private static final int OUTPUT_DIRECTORY_OPTION_GROUP_ORDINAL = 8;
+	private static final int OUTPUT_OPTION_GROUP_ORDINAL = 9;
+	private static final int BUFFER_SIZE_OPTION_GROUP_ORDINAL = 10;
+	private static final int FLUSH_OPTION_GROUP_ORDINAL = 11;
+	private static final int FOLLOW_OPTION_GROUP_ORDINAL = 12;
+	private static final int CHECKPOINT_OPTION_GROUP_ORDINAL = 13;
+	private static final int RESUME_OPTION_GROUP_ORDINAL = 14;
+	private static final int HELP_OPTION_GROUP_ORDINAL = 15;
+	private static final int VERSION_OPTION_GROUP_ORDINAL = 16;
 	
 	public static void main(final String[] args) {
-		CLI cli = new CafeBase64CLI(args, false);
+		CafeBase64CLI cli = new CafeBase64CLI(args, false);
+		cli.standardStreamsOwned = true;
 		try {
 			cli.handleArgs();
 		} catch (TerminationRequestedException e) {
@@ -73,28 +161,67 @@ public final class CafeBase64CLI extends CLI {
 		}
 	}
 	
+	private int bufferSize;
+	private String checkpointFile;
 	private int columnLimit;
 	private boolean decodingMode;
-	private String file;
+	private String fileList;
+	private boolean fileListNullDelimited;
+	private List<String> files;
+	private FlushPolicy flushPolicy;
+	private boolean followMode;
 	private boolean garbageIgnored;
+	private String outputDirectory;
+	private String outputFile;
+	private boolean parallelMode;
+	private boolean resumeMode;
+	private String rootDirectory;
+	private boolean standardStreamsOwned;
+	private int threadCount;
 
 	public CafeBase64CLI(final String[] args, final boolean posixlyCorrect) {
 		super(args, posixlyCorrect);
+		this.standardStreamsOwned = false;
 		this.setProgramName("cafebase64");
 		this.setProgramVersion("1.0");
 	}
 		
 	@Override
 	protected void afterHandleArgs() throws TerminationRequestedException {
-		this.transform();
+		int formerBufferSize = BufferPolicy.getBufferSizeOverride();
+		int formerThreadCount = WorkerPool.getSize();
+		try {
+			if (this.threadCount > 0) {
+				WorkerPool.setSize(this.threadCount);
+			}
+			if (this.bufferSize > 0) {
+				BufferPolicy.setBufferSize(this.bufferSize);
+			}
+			this.transform();
+		} finally {
+			BufferPolicy.setBufferSize(formerBufferSize);
+			WorkerPool.setSize(formerThreadCount);
+		}
 	}
 	
 	@Override
 	protected void beforeHandleArgs() {
+		this.bufferSize = 0;
+		this.checkpointFile = null;
 		this.columnLimit = 76;
 		this.decodingMode = false;
-		this.file = null;
+		this.fileList = null;
+		this.fileListNullDelimited = false;
+		this.files = new ArrayList<String>();
+		this.flushPolicy = FlushPolicy.END_OF_INPUT;
+		this.followMode = false;
 		this.garbageIgnored = false;
+		this.outputDirectory = null;
+		this.outputFile = null;
+		this.parallelMode = false;
+		this.resumeMode = false;
+		this.rootDirectory = null;
+		this.threadCount = 0;
 	}
 	
 	@Option(
@@ -105,9 +232,9 @@ public final class CafeBase64CLI extends CLI {
 	@Ordinal(HELP_OPTION_GROUP_ORDINAL)
 	@Override
 	protected void displayProgramHelp()	throws TerminationRequestedException {
-		System.out.printf("Usage: %s [OPTION]... [FILE]%n", 
+		System.out.printf("Usage: %s [OPTION]... [FILE]...%n", 
 				this.getProgramName());
-		System.out.printf("Base64 encode or decode FILE, or standard "
+		System.out.printf("Base64 encode or decode each FILE, or standard "
 				+ "input, to standard output.%n%n");
 		System.out.printf("With no FILE, or when FILE is -, read standard "
 				+ "input.%n%n");
@@ -131,13 +258,18 @@ public final class CafeBase64CLI extends CLI {
 		throw new TerminationRequestedException(0);
 	}
 	
+	private void flush(final OutputStream out) {
+		try {
+			out.flush();
+		} catch (IOException e) {
+			System.err.printf("%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+		}
+	}
+	
 	@Override
 	protected void handleNonparsedArg(final String nonparsedArg) {
-		if (this.file != null) {
-			throw new IllegalArgumentException(String.format(
-					"extra operand '%s'", nonparsedArg));
-		}
-		this.file = nonparsedArg;
+		this.files.add(nonparsedArg);
 	}
 	
 	@Override
@@ -155,6 +287,102 @@ public final class CafeBase64CLI extends CLI {
 		throw new TerminationRequestedException(-1);
 	}
 	
+	private MultiFileTransformer.ErrorHandler newErrorHandler(
+			final boolean standardOutputUsed) {
+		return new MultiFileTransformer.ErrorHandler() {
+			
+			@Override
+			public void handleError(final String operand, final IOException e) {
+				String format = "%n%s: %s: %s%n";
+				if (!standardOutputUsed 
+						|| e instanceof FileNotFoundException) {
+					format = "%s: %s: %s%n";
+				}
+				System.err.printf(format, 
+						CafeBase64CLI.this.getProgramName(), 
+						operand, 
+						e);
+				e.printStackTrace(System.err);
+			}
+			
+		};
+	}
+	
+	private OutputStream newStandardOutputStream() {
+		if (!this.standardStreamsOwned) {
+			return this.flushPolicy.newOutputStream(System.out);
+		}
+		System.out.flush();
+		FileChannel channel = StandardStreams.newOutputChannel();
+		boolean sparse = false;
+		if (this.decodingMode 
+				&& StandardStreams.isRegularFile(
+						StandardStreams.STANDARD_OUTPUT)
+				&& !StandardStreams.isAppending(
+						StandardStreams.STANDARD_OUTPUT)) {
+			try {
+				sparse = SparseFileWriter.isSparseWritable(channel);
+			} catch (IOException e) {
+				sparse = false;
+			}
+		}
+		return this.flushPolicy.newOutputStream(
+				new ChannelOutputStream(channel, sparse));
+	}
+	
+	private MultiFileTransformer.Transformation newTransformation() {
+		return new MultiFileTransformer.Transformation() {
+			
+			@Override
+			public void transform(final InputStream in, final OutputStream out) 
+					throws IOException {
+				CafeBase64Codec codec = CafeBase64CLI.this.decodingMode ? 
+						new CafeBase64Decoder(
+								CafeBase64CLI.this.garbageIgnored) : 
+						new CafeBase64Encoder(CafeBase64CLI.this.columnLimit);
+				CafeBase64.INSTANCE.dispatch(
+						in, 
+						out, 
+						codec, 
+						EngineSelector.knownLength(in), 
+						EngineSelector.Engine.BLOCK);
+			}
+			
+		};
+	}
+	
+	@Option(
+			doc = "read and write in blocks of SIZE bytes (default: chosen "
+					+ "from${line.separator}      the type and size of the "
+					+ "input and the CPU cache size).${line.separator}      "
+					+ "SIZE may be followed by K or M and must not exceed 64M",
+			name = "buffer-size",
+			optionArgSpec = @OptionArgSpec(
+					name = "SIZE",
+					stringConverter = SizeStringConverter.class
+			),
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(BUFFER_SIZE_OPTION_GROUP_ORDINAL)
+	private void setBufferSize(final int size) {
+		this.bufferSize = size;
+	}
+	
+	@Option(
+			doc = "when converting FILE to OUTFILE, periodically record "
+					+ "the${line.separator}      progress in CKPT so that "
+					+ "the conversion can be resumed",
+			name = "checkpoint",
+			optionArgSpec = @OptionArgSpec(name = "CKPT"),
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(CHECKPOINT_OPTION_GROUP_ORDINAL)
+	private void setCheckpointFile(final String file) {
+		this.checkpointFile = file;
+	}
+	
 	@Option(
 			doc = "wrap encoded lines after COLS character (default 76)."
 					+ "${line.separator}      Use 0 to disable line wrapping",
@@ -189,6 +417,70 @@ public final class CafeBase64CLI extends CLI {
 		this.decodingMode = b;
 	}
 	
+	@Option(
+			doc = "read the names of the files to convert from LIST (- for "
+					+ "standard${line.separator}      input) and write each "
+					+ "result to a separate file",
+			name = "T",
+			optionArgSpec = @OptionArgSpec(name = "LIST"),
+			type = OptionType.POSIX 
+	)
+	@Option(
+			name = "files-from",
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(FILES_FROM_OPTION_GROUP_ORDINAL)
+	private void setFileList(final String list) {
+		this.fileList = list;
+	}
+	
+	@Option(
+			doc = "names in LIST are terminated by NUL instead of newline",
+			name = "null",
+			type = OptionType.GNU_LONG
+	)
+	@Ordinal(NULL_OPTION_GROUP_ORDINAL)
+	private void setFileListNullDelimited(final boolean b) {
+		this.fileListNullDelimited = b;
+	}
+	
+	@Option(
+			doc = "flush standard output after every line (line), after "
+					+ "every${line.separator}      N bytes (N), or at most "
+					+ "T milliseconds after a write (Tms)${line.separator}"
+					+ "      instead of only at the end of input (eof, the "
+					+ "default)",
+			name = "flush",
+			optionArgSpec = @OptionArgSpec(
+					name = "WHEN",
+					stringConverter = FlushPolicyStringConverter.class
+			),
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(FLUSH_OPTION_GROUP_ORDINAL)
+	private void setFlushPolicy(final FlushPolicy policy) {
+		this.flushPolicy = policy;
+	}
+	
+	@Option(
+			doc = "after the end of FILE, wait for data to be appended to "
+					+ "FILE${line.separator}      and convert it as it "
+					+ "arrives",
+			name = "f",
+			type = OptionType.POSIX 
+	)
+	@Option(
+			name = "follow",
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(FOLLOW_OPTION_GROUP_ORDINAL)
+	private void setFollowMode(final boolean b) {
+		this.followMode = b;
+	}
+	
 	@Option(
 			doc = "when decoding, ignore non-alphabet characters",
 			name = "i",
@@ -203,59 +495,498 @@ public final class CafeBase64CLI extends CLI {
 		this.garbageIgnored = b;
 	}
 	
+	@Option(
+			doc = "write the files converted from LIST or DIR under OUTDIR"
+					+ "${line.separator}      instead of next to the files "
+					+ "in LIST or DIR",
+			name = "output-directory",
+			optionArgSpec = @OptionArgSpec(name = "OUTDIR"),
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(OUTPUT_DIRECTORY_OPTION_GROUP_ORDINAL)
+	private void setOutputDirectory(final String dir) {
+		this.outputDirectory = dir;
+	}
+	
+	@Option(
+			doc = "write the result to OUTFILE instead of standard output",
+			name = "o",
+			optionArgSpec = @OptionArgSpec(name = "OUTFILE"),
+			type = OptionType.POSIX 
+	)
+	@Option(
+			name = "output",
+			type = OptionType.GNU_LONG
+	)
+	@Ordinal(OUTPUT_OPTION_GROUP_ORDINAL)
+	private void setOutputFile(final String file) {
+		this.outputFile = file;
+	}
+	
+	@Option(
+			doc = "when FILE and standard output are regular files, "
+					+ "encode or${line.separator}      decode using multiple "
+					+ "threads",
+			name = "parallel",
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(PARALLEL_OPTION_GROUP_ORDINAL)
+	private void setParallelMode(final boolean b) {
+		this.parallelMode = b;
+	}
+	
+	@Option(
+			doc = "if CKPT exists, continue the interrupted conversion from "
+					+ "the${line.separator}      progress recorded in it",
+			name = "resume",
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(RESUME_OPTION_GROUP_ORDINAL)
+	private void setResumeMode(final boolean b) {
+		this.resumeMode = b;
+	}
+	
+	@Option(
+			doc = "convert every regular file under DIR into a mirror tree",
+			name = "r",
+			optionArgSpec = @OptionArgSpec(name = "DIR"),
+			type = OptionType.POSIX 
+	)
+	@Option(
+			name = "recursive",
+			type = OptionType.GNU_LONG
+	)
+	@Ordinal(RECURSIVE_OPTION_GROUP_ORDINAL)
+	private void setRootDirectory(final String dir) {
+		this.rootDirectory = dir;
+	}
+	
+	@Option(
+			doc = "use at most N worker threads for parallel conversion"
+					+ "${line.separator}      (default: the number of "
+					+ "available processors)",
+			name = "j",
+			optionArgSpec = @OptionArgSpec(
+					name = "N",
+					stringConverter = PositiveIntegerStringConverter.class
+			),
+			type = OptionType.POSIX 
+	)
+	@Option(
+			name = "threads",
+			type = OptionType.GNU_LONG
+	)
+	@OptionGroupHelpTextProvider(InterpolatedOptionGroupHelpTextProvider.class)
+	@Ordinal(THREADS_OPTION_GROUP_ORDINAL)
+	private void setThreadCount(final int count) {
+		this.threadCount = count;
+	}
+	
 	private void transform() throws TerminationRequestedException {
-		InputStream in = null;
-		if (this.file != null) {
-			if (this.file.equals("-")) {
-				in = System.in;
+		if (this.outputFile != null 
+				&& (this.rootDirectory != null || this.fileList != null)) {
+			System.err.printf(
+					"%s: OUTFILE cannot be used with a LIST of files or DIR%n", 
+					this.getProgramName());
+			throw new TerminationRequestedException(-1);
+		}
+		if (this.checkpointFile != null || this.resumeMode) {
+			this.transformWithCheckpoint();
+			return;
+		}
+		if (this.followMode) {
+			this.transformFollowing();
+			return;
+		}
+		if (this.rootDirectory != null) {
+			this.transformDirectoryTree();
+			return;
+		}
+		if (this.fileList != null) {
+			this.transformFileList();
+			return;
+		}
+		if (this.files.size() > 1) {
+			this.transformFiles();
+			return;
+		}
+		String file = this.files.isEmpty() ? null : this.files.get(0);
+		boolean standardInputUsed = file == null || file.equals("-");
+		boolean regularFileUsed = false;
+		InputStream in = System.in;
+		if (!standardInputUsed) {
+			File f = new File(file);
+			try {
+				in = new FileInputStream(f);
+			} catch (FileNotFoundException e) {
+				System.err.printf("%s: %s%n", this.getProgramName(), e);
+				e.printStackTrace(System.err);
+				throw new TerminationRequestedException(-1);
+			}
+			regularFileUsed = f.isFile();
+		} else if (this.standardStreamsOwned 
+				&& StandardStreams.isRegularFile(
+						StandardStreams.STANDARD_INPUT)) {
+			in = StandardStreams.newInputStream();
+			regularFileUsed = true;
+		}
+		try {
+			if (this.outputFile != null) {
+				this.transformToOutputFile(file, in, regularFileUsed);
 			} else {
-				File f = new File(this.file);
+				this.transform(in, regularFileUsed);
+			}
+		} finally {
+			if (!standardInputUsed) {
 				try {
-					in = new FileInputStream(f);
-				} catch (FileNotFoundException e) {
+					in.close();
+				} catch (IOException e) {
 					System.err.printf("%s: %s%n", this.getProgramName(), e);
 					e.printStackTrace(System.err);
-					throw new TerminationRequestedException(-1);
 				}
-			}		
+			}
 		}
-		if (in == null) { in = System.in; } 
+	}
+	
+	private void transform(
+			final InputStream in, 
+			final boolean regularFileUsed) 
+			throws TerminationRequestedException {
 		CafeBase64 cafeBase64 = CafeBase64.INSTANCE;
-		if (this.decodingMode) {
-			try {
-				cafeBase64.decode(
-						in, System.out, this.garbageIgnored);
-			} catch (IOException e) {
-				System.err.printf("%n%s: %s%n", this.getProgramName(), e);
-				e.printStackTrace(System.err);
-				throw new TerminationRequestedException(-1);
-			} finally {
-				if (in instanceof FileInputStream) {
-					try {
-						in.close();
-					} catch (IOException e) {
-						System.err.printf("%s: %s%n", this.getProgramName(), e);
-						e.printStackTrace(System.err);
-					}
+		OutputStream out = this.newStandardOutputStream();
+		try {
+			if (regularFileUsed) {
+				FileChannel channel = ((FileInputStream) in).getChannel();
+				if (this.parallelMode 
+						&& this.standardStreamsOwned 
+						&& StandardStreams.isRegularFile(
+								StandardStreams.STANDARD_OUTPUT)
+						&& !StandardStreams.isAppending(
+								StandardStreams.STANDARD_OUTPUT)) {
+					this.transformInParallel(channel);
+					return;
+				}
+				long knownLength = EngineSelector.knownLength(channel);
+				if (MappedFileTransformer.isMappable(knownLength)) {
+					this.transformMapped(channel, knownLength, out);
+					return;
+				}
+			}
+			if (this.decodingMode) {
+				cafeBase64.decode(in, out, this.garbageIgnored);
+			} else {
+				cafeBase64.encode(in, out, this.columnLimit);
+			}
+		} catch (IOException e) {
+			System.err.printf("%n%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		} finally {
+			this.flush(out);
+		}
+	}
+	
+	private void transformDirectoryTree() 
+			throws TerminationRequestedException {
+		if (!this.files.isEmpty() || this.fileList != null) {
+			System.err.printf(
+					"%s: FILE operands or a LIST of files cannot be used with "
+					+ "DIR%n", 
+					this.getProgramName());
+			throw new TerminationRequestedException(-1);
+		}
+		Path root = Paths.get(this.rootDirectory);
+		Path outputRoot = (this.outputDirectory == null) ? 
+				DirectoryTreeTransformer.getOutputDirectory(
+						root, this.decodingMode) : 
+				Paths.get(this.outputDirectory);
+		DirectoryTreeTransformer transformer = new DirectoryTreeTransformer(
+				this.newTransformation(), 
+				this.decodingMode, 
+				WorkerPool.get(), 
+				this.newErrorHandler(false));
+		long failureCount;
+		try {
+			failureCount = transformer.transform(root, outputRoot);
+		} catch (IOException e) {
+			System.err.printf("%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		}
+		if (failureCount > 0L) {
+			throw new TerminationRequestedException(-1);
+		}
+	}
+	
+	private void transformFileList() throws TerminationRequestedException {
+		if (!this.files.isEmpty()) {
+			System.err.printf(
+					"%s: FILE operands cannot be used with a LIST of files%n", 
+					this.getProgramName());
+			throw new TerminationRequestedException(-1);
+		}
+		FileListTransformer transformer = new FileListTransformer(
+				this.newTransformation(), 
+				this.decodingMode, 
+				(this.outputDirectory == null) ? 
+						null : Paths.get(this.outputDirectory), 
+				WorkerPool.getSize(), 
+				this.newErrorHandler(false));
+		long failureCount;
+		InputStream in = System.in;
+		try {
+			if (!this.fileList.equals("-")) {
+				in = new FileInputStream(this.fileList);
+			}
+			failureCount = transformer.transform(
+					in, this.fileListNullDelimited);
+		} catch (IOException e) {
+			System.err.printf("%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		} finally {
+			if (in instanceof FileInputStream) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					System.err.printf("%s: %s%n", this.getProgramName(), e);
+					e.printStackTrace(System.err);
 				}
 			}
+		}
+		if (failureCount > 0L) {
+			throw new TerminationRequestedException(-1);
+		}
+	}
+	
+	private void transformFiles() throws TerminationRequestedException {
+		MultiFileTransformer transformer = new MultiFileTransformer(
+				this.newTransformation(), 
+				System.in, 
+				WorkerPool.get(), 
+				WorkerPool.getSize());
+		if (this.outputFile != null) {
+			this.transformFilesToOutputFile(transformer);
+			return;
+		}
+		OutputStream out = this.newStandardOutputStream();
+		boolean successful;
+		try {
+			successful = transformer.transform(
+					this.files, out, this.newErrorHandler(true));
+		} catch (IOException e) {
+			System.err.printf("%n%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		} finally {
+			this.flush(out);
+		}
+		if (!successful) {
+			throw new TerminationRequestedException(-1);
+		}
+	}
+	
+	private void transformFilesToOutputFile(
+			final MultiFileTransformer transformer) 
+			throws TerminationRequestedException {
+		boolean successful;
+		try (AtomicOutputFile outputFile = new AtomicOutputFile(
+				Paths.get(this.outputFile))) {
+			OutputStream out = new ChannelOutputStream(
+					outputFile.getChannel());
+			successful = transformer.transform(
+					this.files, out, this.newErrorHandler(false));
+			if (successful) {
+				out.flush();
+				outputFile.commit(outputFile.getChannel().position());
+			}
+		} catch (IOException e) {
+			System.err.printf("%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		}
+		if (!successful) {
+			throw new TerminationRequestedException(-1);
+		}
+	}
+	
+	private void transformFollowing() throws TerminationRequestedException {
+		if (this.outputFile != null 
+				|| this.rootDirectory != null 
+				|| this.fileList != null 
+				|| this.files.size() != 1 
+				|| this.files.get(0).equals("-")) {
+			System.err.printf(
+					"%s: following requires exactly one FILE operand and "
+					+ "standard output%n", 
+					this.getProgramName());
+			throw new TerminationRequestedException(-1);
+		}
+		CafeBase64 cafeBase64 = CafeBase64.INSTANCE;
+		OutputStream out = this.newStandardOutputStream();
+		try (FollowingInputStream in = new FollowingInputStream(
+				Paths.get(this.files.get(0)), out)) {
+			if (this.decodingMode) {
+				cafeBase64.decode(in, out, this.garbageIgnored);
+			} else {
+				cafeBase64.encode(in, out, this.columnLimit);
+			}
+		} catch (IOException e) {
+			System.err.printf("%n%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		} finally {
+			this.flush(out);
+		}
+	}
+	
+	private void transformInParallel(final FileChannel in) 
+			throws IOException {
+		FileChannel out = StandardStreams.newOutputChannel();
+		if (this.decodingMode) {
+			new ParallelFileDecoder(
+					in, out, this.garbageIgnored, WorkerPool.get()).decode();
 		} else {
-			try {
-				cafeBase64.encode(in, System.out, this.columnLimit);
-			} catch (IOException e) {
-				System.err.printf("%n%s: %s%n", this.getProgramName(), e);
-				e.printStackTrace(System.err);
-				throw new TerminationRequestedException(-1);
-			} finally {
-				if (in instanceof FileInputStream) {
-					try {
-						in.close();
-					} catch (IOException e) {
-						System.err.printf("%s: %s%n", this.getProgramName(), e);
-						e.printStackTrace(System.err);
+			new ParallelFileEncoder(
+					in, out, this.columnLimit, WorkerPool.get()).encode();
+		}
+	}
+	
+	private void transformMapped(
+			final FileChannel in, 
+			final long knownLength, 
+			final OutputStream out) throws IOException {
+		CafeBase64Codec codec = this.decodingMode ? 
+				new CafeBase64Decoder(this.garbageIgnored) : 
+				new CafeBase64Encoder(this.columnLimit);
+		EngineSelector.Engine engine = EngineSelector.newInstance(
+				WorkerPool.getSize()).select(knownLength, true);
+		new MappedFileTransformer(
+				codec, 
+				(engine == EngineSelector.Engine.PARALLEL) ? 
+						WorkerPool.get() : null).transform(in, out);
+	}
+	
+	private void transformToOutputFile(
+			final String file, 
+			final InputStream in, 
+			final boolean regularFileUsed) 
+			throws TerminationRequestedException {
+		CafeBase64 cafeBase64 = CafeBase64.INSTANCE;
+		try (AtomicOutputFile outputFile = new AtomicOutputFile(
+				Paths.get(this.outputFile))) {
+			FileChannel out = outputFile.getChannel();
+			CafeBase64Result result = null;
+			if (regularFileUsed) {
+				FileChannel channel = ((FileInputStream) in).getChannel();
+				long knownLength = EngineSelector.knownLength(channel);
+				EngineSelector.Engine engine = EngineSelector.newInstance(
+						WorkerPool.getSize()).select(knownLength, true);
+				if (file != null 
+						&& !file.equals("-") 
+						&& (engine == EngineSelector.Engine.BLOCK 
+								|| engine == EngineSelector.Engine.PIPELINED)) {
+					result = this.decodingMode ? 
+							new AsyncFileTransformer().decode(
+									Paths.get(file), 
+									outputFile.getAsynchronousChannel(), 
+									this.garbageIgnored) : 
+							new AsyncFileTransformer().encode(
+									Paths.get(file), 
+									outputFile.getAsynchronousChannel(), 
+									this.columnLimit);
+				} else {
+					result = this.decodingMode ? 
+							cafeBase64.decode(
+									channel, out, this.garbageIgnored) : 
+							cafeBase64.encode(
+									channel, out, this.columnLimit);
+				}
+			} else if (this.decodingMode) {
+				cafeBase64.decode(
+						in, 
+						new ChannelOutputStream(out, true), 
+						this.garbageIgnored);
+			} else {
+				cafeBase64.encode(
+						in, new ChannelOutputStream(out), this.columnLimit);
+			}
+			outputFile.commit((result == null) ? 
+					out.position() : result.getBytesWritten());
+		} catch (IOException e) {
+			System.err.printf("%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
+		}
+	}
+	
+	private void transformWithCheckpoint() 
+			throws TerminationRequestedException {
+		if (this.checkpointFile == null 
+				|| this.outputFile == null 
+				|| this.followMode 
+				|| this.rootDirectory != null 
+				|| this.fileList != null 
+				|| this.files.size() != 1 
+				|| this.files.get(0).equals("-")) {
+			System.err.printf(
+					"%s: checkpointing requires CKPT, exactly one FILE "
+					+ "operand and OUTFILE%n", 
+					this.getProgramName());
+			throw new TerminationRequestedException(-1);
+		}
+		Path checkpointPath = Paths.get(this.checkpointFile);
+		Path input = Paths.get(this.files.get(0));
+		if (Files.exists(checkpointPath) && !this.resumeMode) {
+			System.err.printf(
+					"%s: %s already exists (use --resume to continue the "
+					+ "conversion)%n", 
+					this.getProgramName(), 
+					checkpointPath);
+			throw new TerminationRequestedException(-1);
+		}
+		try {
+			Checkpoint checkpoint = Files.exists(checkpointPath) ? 
+					Checkpoint.load(checkpointPath) : null;
+			try (FileChannel in = FileChannel.open(input); 
+					AtomicOutputFile outputFile = (checkpoint == null) ? 
+							new AtomicOutputFile(
+									Paths.get(this.outputFile)) : 
+							new AtomicOutputFile(
+									Paths.get(this.outputFile), 
+									checkpoint.getTemporaryOutput())) {
+				outputFile.retain();
+				Checkpoint start = new Checkpoint(
+						this.decodingMode, 
+						this.columnLimit, 
+						this.garbageIgnored, 
+						input, 
+						outputFile.getPath(), 
+						outputFile.getTemporaryPath(), 
+						0L, 
+						0L);
+				if (checkpoint != null) {
+					if (!checkpoint.isSameConversion(start)) {
+						throw new IOException(String.format(
+								"%s: recorded for a different conversion", 
+								checkpointPath));
 					}
+					start = checkpoint;
 				}
+				CafeBase64Result result = new CheckpointedFileTransformer(
+						checkpointPath).transform(
+								in, outputFile.getChannel(), start);
+				outputFile.commit(
+						start.getOutputOffset() + result.getBytesWritten());
+				Files.delete(checkpointPath);
 			}
+		} catch (IOException e) {
+			System.err.printf("%s: %s%n", this.getProgramName(), e);
+			e.printStackTrace(System.err);
+			throw new TerminationRequestedException(-1);
 		}
 	}
 	
@@ -0,0 +1,129 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.nio.ByteBuffer;
+
+public final class CafeBase64CharSequence implements CharSequence {
+
+	private static int length(
+			final int byteCount,
+			final int columnLimit,
+			final int lineSeparatorLength) {
+		long length = CafeBase64Encoder.encodedLength(
+				byteCount, columnLimit, lineSeparatorLength);
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format(
+					"encoded length of %s byte(s) exceeds %s",
+					byteCount,
+					Integer.MAX_VALUE));
+		}
+		return (int) length;
+	}
+
+	private final ByteBuffer bytes;
+	private final int charCount;
+	private final int columnLimit;
+	private final int length;
+	private final String lineSeparator;
+	private final int offset;
+
+	public CafeBase64CharSequence(final byte[] b) {
+		this(ByteBuffer.wrap(b), 0);
+	}
+
+	public CafeBase64CharSequence(final byte[] b, final int colLimit) {
+		this(ByteBuffer.wrap(b), colLimit);
+	}
+
+	public CafeBase64CharSequence(final ByteBuffer b) {
+		this(b, 0);
+	}
+
+	public CafeBase64CharSequence(final ByteBuffer b, final int colLimit) {
+		CafeBase64Encoder.checkColumnLimit(colLimit);
+		ByteBuffer bb = b.slice();
+		String lineSep = System.getProperty("line.separator");
+		this.bytes = bb;
+		this.charCount = length(bb.remaining(), 0, 0);
+		this.columnLimit = colLimit;
+		this.length = length(bb.remaining(), colLimit, lineSep.length());
+		this.lineSeparator = lineSep;
+		this.offset = 0;
+	}
+
+	private CafeBase64CharSequence(
+			final CafeBase64CharSequence other,
+			final int start,
+			final int end) {
+		this.bytes = other.bytes;
+		this.charCount = other.charCount;
+		this.columnLimit = other.columnLimit;
+		this.length = end - start;
+		this.lineSeparator = other.lineSeparator;
+		this.offset = other.offset + start;
+	}
+
+	@Override
+	public char charAt(final int index) {
+		if (index < 0 || index >= this.length) {
+			throw new IndexOutOfBoundsException(String.format(
+					"index %s out of bounds for length %s",
+					index, this.length));
+		}
+		int i = this.offset + index;
+		if (this.columnLimit == 0) {
+			return this.encodedCharAt(i);
+		}
+		int lineLength = this.columnLimit + this.lineSeparator.length();
+		int line = i / lineLength;
+		int column = i % lineLength;
+		int charsInLine = Math.min(
+				this.columnLimit, this.charCount - line * this.columnLimit);
+		if (column < charsInLine) {
+			return this.encodedCharAt(line * this.columnLimit + column);
+		}
+		return this.lineSeparator.charAt(column - charsInLine);
+	}
+
+	private char encodedCharAt(final int charIndex) {
+		int byteIndex = charIndex / 4 * 3;
+		int byteCount = Math.min(3, this.bytes.limit() - byteIndex);
+		int charPosition = charIndex % 4;
+		if (charPosition > byteCount) {
+			return (char) CafeBase64Encoder.PADDING;
+		}
+		int bits = 0;
+		for (int i = 0; i < 3; i++) {
+			bits <<= 8;
+			if (i < byteCount) {
+				bits |= this.bytes.get(byteIndex + i) & 0xff;
+			}
+		}
+		return (char) CafeBase64Encoder.ALPHABET[
+				(bits >> (18 - charPosition * 6)) & 0x3f];
+	}
+
+	@Override
+	public int length() {
+		return this.length;
+	}
+
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		if (start < 0 || end > this.length || start > end) {
+			throw new IndexOutOfBoundsException(String.format(
+					"start %s and end %s out of bounds for length %s",
+					start, end, this.length));
+		}
+		return new CafeBase64CharSequence(this, start, end);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(this.length);
+		for (int i = 0; i < this.length; i++) {
+			sb.append(this.charAt(i));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.nio.ByteBuffer;
+
+public final class CafeBase64Chunk {
+	
+	private final ByteBuffer buffer;
+	private final long offset;
+	
+	CafeBase64Chunk(final ByteBuffer b, final long off) {
+		this.buffer = b;
+		this.offset = off;
+	}
+	
+	public ByteBuffer getBuffer() {
+		return this.buffer.duplicate();
+	}
+	
+	public int getLength() {
+		return this.buffer.remaining();
+	}
+	
+	public long getOffset() {
+		return this.offset;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName())
+			.append(" [offset=")
+			.append(this.offset)
+			.append(", length=")
+			.append(this.buffer.remaining())
+			.append("]");
+		return sb.toString();
+	}
+	
+}
@@ -0,0 +1,18 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+
+interface CafeBase64Codec {
+	
+	int finish(byte[] dst, int dstOffset) throws IOException;
+	
+	int maxOutputLength(int inputLength);
+	
+	int transform(
+			byte[] src, 
+			int srcOffset, 
+			int srcLength, 
+			byte[] dst, 
+			int dstOffset) throws IOException;
+	
+}
@@ -0,0 +1,201 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+final class CafeBase64Decoder implements CafeBase64Codec {
+
+	private static final int ACCEPTED_WHITESPACE = -3;
+	private static final int NON_ALPHABET = -1;
+	private static final int PADDING = -2;
+
+	private static final int[] DECODE_TABLE;
+
+	static {
+		String base64AlphabetChars =
+				"ABCDEFGHIJKLMNOPQRSTUVWXYZ"
+				+ "abcdefghijklmnopqrstuvwxyz"
+				+ "0123456789"
+				+ "+/";
+		int[] decodeTable = new int[128];
+		Arrays.fill(decodeTable, NON_ALPHABET);
+		for (int i = 0; i < base64AlphabetChars.length(); i++) {
+			decodeTable[base64AlphabetChars.charAt(i)] = i;
+		}
+		decodeTable['='] = PADDING;
+		decodeTable['\r'] = ACCEPTED_WHITESPACE;
+		decodeTable['\n'] = ACCEPTED_WHITESPACE;
+		DECODE_TABLE = decodeTable;
+	}
+
+	static boolean isAlphabetChar(final int c) {
+		return c < DECODE_TABLE.length 
+				&& (DECODE_TABLE[c] >= 0 || DECODE_TABLE[c] == PADDING);
+	}
+
+	static boolean isGarbageChar(final int c) {
+		return c >= DECODE_TABLE.length || DECODE_TABLE[c] == NON_ALPHABET;
+	}
+
+	static boolean isPaddingChar(final int c) {
+		return c < DECODE_TABLE.length && DECODE_TABLE[c] == PADDING;
+	}
+
+	static int maxDecodedLength(final int encodedLength) {
+		return (int) (((long) encodedLength + 3L) / 4L * 3L);
+	}
+
+	static IOException newNonAlphabetCharacterException(final int c) {
+		return new IOException(String.format(
+				"non-alphabet character found: '%s'", (char) c));
+	}
+
+	private int bits;
+	private final boolean garbageIgnored;
+	private int paddingLength;
+	private int quantumLength;
+
+	CafeBase64Decoder(final boolean ignoreGarbage) {
+		this.bits = 0;
+		this.garbageIgnored = ignoreGarbage;
+		this.paddingLength = 0;
+		this.quantumLength = 0;
+	}
+
+	int decode(
+			final byte[] src,
+			final int srcOffset,
+			final int srcLength,
+			final byte[] dst,
+			final int dstOffset) throws IOException {
+		int dstIndex = dstOffset;
+		for (int i = srcOffset; i < srcOffset + srcLength; i++) {
+			dstIndex += this.decode(src[i] & 0xff, dst, dstIndex);
+		}
+		return dstIndex - dstOffset;
+	}
+
+	int decode(
+			final char[] src,
+			final int srcOffset,
+			final int srcLength,
+			final byte[] dst,
+			final int dstOffset) throws IOException {
+		int dstIndex = dstOffset;
+		for (int i = srcOffset; i < srcOffset + srcLength; i++) {
+			dstIndex += this.decode(src[i], dst, dstIndex);
+		}
+		return dstIndex - dstOffset;
+	}
+
+	int decode(
+			final CharSequence src,
+			final int start,
+			final int end,
+			final byte[] dst,
+			final int dstOffset) throws IOException {
+		int dstIndex = dstOffset;
+		for (int i = start; i < end; i++) {
+			dstIndex += this.decode(src.charAt(i), dst, dstIndex);
+		}
+		return dstIndex - dstOffset;
+	}
+
+	private int decode(
+			final int c,
+			final byte[] dst,
+			final int dstOffset) throws IOException {
+		int value = (c < DECODE_TABLE.length) ? DECODE_TABLE[c] : NON_ALPHABET;
+		if (value == NON_ALPHABET || value == ACCEPTED_WHITESPACE) {
+			if (value == NON_ALPHABET && !this.garbageIgnored) {
+				throw newNonAlphabetCharacterException(c);
+			}
+			return 0;
+		}
+		if (value == PADDING) {
+			if (this.quantumLength - this.paddingLength < 2) {
+				throw new IOException(String.format(
+						"padding character found after %s non-padding "
+						+ "character(s) in a group",
+						this.quantumLength - this.paddingLength));
+			}
+			this.paddingLength++;
+		} else {
+			if (this.paddingLength > 0) {
+				throw new IOException(String.format(
+						"non-padding character found after padding: '%s'",
+						(char) c));
+			}
+			this.bits = (this.bits << 6) | value;
+		}
+		if (++this.quantumLength < 4) {
+			return 0;
+		}
+		return this.flush(dst, dstOffset);
+	}
+
+	@Override
+	public int finish(final byte[] dst, final int dstOffset) 
+			throws IOException {
+		if (this.quantumLength == 0) {
+			return 0;
+		}
+		if (this.paddingLength > 0) {
+			throw new IOException("incomplete group of padding characters");
+		}
+		if (this.quantumLength == 1) {
+			throw new IOException(
+					"incomplete group of characters: 1 character remaining");
+		}
+		return this.flush(dst, dstOffset);
+	}
+
+	private int flush(final byte[] dst, final int dstOffset) {
+		int length = this.quantumLength - this.paddingLength;
+		int b = this.bits;
+		int n = 0;
+		switch (length) {
+		case 4:
+			dst[dstOffset] = (byte) (b >> 16);
+			dst[dstOffset + 1] = (byte) (b >> 8);
+			dst[dstOffset + 2] = (byte) b;
+			n = 3;
+			break;
+		case 3:
+			dst[dstOffset] = (byte) (b >> 10);
+			dst[dstOffset + 1] = (byte) (b >> 2);
+			n = 2;
+			break;
+		case 2:
+			dst[dstOffset] = (byte) (b >> 4);
+			n = 1;
+			break;
+		default:
+			throw new AssertionError(length);
+		}
+		this.bits = 0;
+		this.paddingLength = 0;
+		this.quantumLength = 0;
+		return n;
+	}
+
+	boolean isGarbageIgnored() {
+		return this.garbageIgnored;
+	}
+
+	@Override
+	public int maxOutputLength(final int inputLength) {
+		return maxDecodedLength(inputLength) + 2;
+	}
+
+	@Override
+	public int transform(
+			final byte[] src,
+			final int srcOffset,
+			final int srcLength,
+			final byte[] dst,
+			final int dstOffset) throws IOException {
+		return this.decode(src, srcOffset, srcLength, dst, dstOffset);
+	}
+
+}
@@ -0,0 +1,215 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+final class CafeBase64Encoder implements CafeBase64Codec {
+
+	static final byte[] ALPHABET = (
+			"ABCDEFGHIJKLMNOPQRSTUVWXYZ"
+			+ "abcdefghijklmnopqrstuvwxyz"
+			+ "0123456789"
+			+ "+/").getBytes();
+
+	static final byte PADDING = '=';
+
+	static void checkColumnLimit(final int columnLimit) {
+		if (columnLimit < 0) {
+			throw new IllegalArgumentException(String.format(
+					"integer must be between %s and %s (inclusive)",
+					0, Integer.MAX_VALUE));
+		}
+	}
+
+	static long encodedLength(
+			final long byteCount,
+			final int columnLimit,
+			final int lineSeparatorLength) {
+		long charCount = (byteCount + 2L) / 3L * 4L;
+		if (columnLimit == 0) {
+			return charCount;
+		}
+		long lineCount = (charCount + columnLimit - 1L) / columnLimit;
+		return charCount + lineCount * lineSeparatorLength;
+	}
+
+	static long encodedOffset(
+			final long byteOffset,
+			final int columnLimit,
+			final int lineSeparatorLength) {
+		if (byteOffset % 3L != 0L) {
+			throw new IllegalArgumentException(String.format(
+					"byte offset must be a multiple of 3: %s", byteOffset));
+		}
+		long charCount = byteOffset / 3L * 4L;
+		if (columnLimit == 0) {
+			return charCount;
+		}
+		return charCount + charCount / columnLimit * lineSeparatorLength;
+	}
+
+	static int lineSeparatorLength() {
+		return System.getProperty("line.separator").length();
+	}
+
+	private int column;
+	private final int columnLimit;
+	private final byte[] lineSeparator;
+	private final byte[] pending;
+	private int pendingLength;
+
+	CafeBase64Encoder(final int colLimit) {
+		this(colLimit, 0L);
+	}
+
+	CafeBase64Encoder(final int colLimit, final long byteOffset) {
+		checkColumnLimit(colLimit);
+		if (byteOffset % 3L != 0L) {
+			throw new IllegalArgumentException(String.format(
+					"byte offset must be a multiple of 3: %s", byteOffset));
+		}
+		this.column = (colLimit == 0) ? 
+				0 : (int) (byteOffset / 3L * 4L % colLimit);
+		this.columnLimit = colLimit;
+		this.lineSeparator = System.getProperty("line.separator").getBytes();
+		this.pending = new byte[2];
+		this.pendingLength = 0;
+	}
+
+	int encode(
+			final byte[] src,
+			final int srcOffset,
+			final int srcLength,
+			final byte[] dst,
+			final int dstOffset) {
+		int srcIndex = srcOffset;
+		int srcEnd = srcOffset + srcLength;
+		int dstIndex = dstOffset;
+		while (this.pendingLength > 0 && this.pendingLength < 3
+				&& srcIndex < srcEnd) {
+			if (this.pendingLength == 2) {
+				dstIndex += this.encodeGroup(
+						this.pending[0],
+						this.pending[1],
+						src[srcIndex++],
+						dst,
+						dstIndex);
+				this.pendingLength = 0;
+			} else {
+				this.pending[this.pendingLength++] = src[srcIndex++];
+			}
+		}
+		while (srcEnd - srcIndex >= 3) {
+			dstIndex += this.encodeGroup(
+					src[srcIndex],
+					src[srcIndex + 1],
+					src[srcIndex + 2],
+					dst,
+					dstIndex);
+			srcIndex += 3;
+		}
+		while (srcIndex < srcEnd) {
+			this.pending[this.pendingLength++] = src[srcIndex++];
+		}
+		return dstIndex - dstOffset;
+	}
+
+	private int encodeGroup(
+			final byte b0,
+			final byte b1,
+			final byte b2,
+			final byte[] dst,
+			final int dstOffset) {
+		int bits = ((b0 & 0xff) << 16) | ((b1 & 0xff) << 8) | (b2 & 0xff);
+		if (this.columnLimit == 0) {
+			dst[dstOffset] = ALPHABET[(bits >> 18) & 0x3f];
+			dst[dstOffset + 1] = ALPHABET[(bits >> 12) & 0x3f];
+			dst[dstOffset + 2] = ALPHABET[(bits >> 6) & 0x3f];
+			dst[dstOffset + 3] = ALPHABET[bits & 0x3f];
+			return 4;
+		}
+		int dstIndex = dstOffset;
+		for (int shift = 18; shift >= 0; shift -= 6) {
+			dstIndex += this.put(
+					ALPHABET[(bits >> shift) & 0x3f], dst, dstIndex);
+		}
+		return dstIndex - dstOffset;
+	}
+
+	@Override
+	public int finish(final byte[] dst, final int dstOffset) {
+		int dstIndex = dstOffset;
+		if (this.pendingLength > 0) {
+			int bits = (this.pending[0] & 0xff) << 16;
+			if (this.pendingLength == 2) {
+				bits |= (this.pending[1] & 0xff) << 8;
+			}
+			for (int i = 0; i < 4; i++) {
+				byte b = (i <= this.pendingLength) ?
+						ALPHABET[(bits >> (18 - i * 6)) & 0x3f] : PADDING;
+				dstIndex += this.put(b, dst, dstIndex);
+			}
+			this.pendingLength = 0;
+		}
+		if (this.columnLimit > 0 && this.column > 0) {
+			System.arraycopy(
+					this.lineSeparator,
+					0,
+					dst,
+					dstIndex,
+					this.lineSeparator.length);
+			dstIndex += this.lineSeparator.length;
+			this.column = 0;
+		}
+		return dstIndex - dstOffset;
+	}
+
+	int getColumnLimit() {
+		return this.columnLimit;
+	}
+
+	@Override
+	public int maxOutputLength(final int inputLength) {
+		return this.maxEncodedLength(inputLength);
+	}
+
+	int maxEncodedLength(final int byteCount) {
+		long charCount = ((long) byteCount + 2L) / 3L * 4L + 4L;
+		long length = charCount;
+		if (this.columnLimit > 0) {
+			long lineCount = 
+					(charCount + this.columnLimit - 1L) / this.columnLimit + 1L;
+			length += lineCount * this.lineSeparator.length;
+		}
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format(
+					"encoded length of %s byte(s) exceeds %s",
+					byteCount,
+					Integer.MAX_VALUE));
+		}
+		return (int) length;
+	}
+
+	private int put(final byte b, final byte[] dst, final int dstOffset) {
+		dst[dstOffset] = b;
+		if (this.columnLimit == 0 || ++this.column < this.columnLimit) {
+			return 1;
+		}
+		System.arraycopy(
+				this.lineSeparator,
+				0,
+				dst,
+				dstOffset + 1,
+				this.lineSeparator.length);
+		this.column = 0;
+		return 1 + this.lineSeparator.length;
+	}
+
+	@Override
+	public int transform(
+			final byte[] src,
+			final int srcOffset,
+			final int srcLength,
+			final byte[] dst,
+			final int dstOffset) {
+		return this.encode(src, srcOffset, srcLength, dst, dstOffset);
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+public final class CafeBase64Result {
+	
+	private final long bytesRead;
+	private final long bytesWritten;
+	
+	CafeBase64Result(final long read, final long written) {
+		this.bytesRead = read;
+		this.bytesWritten = written;
+	}
+	
+	public long getBytesRead() {
+		return this.bytesRead;
+	}
+	
+	public long getBytesWritten() {
+		return this.bytesWritten;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName())
+			.append(" [bytesRead=")
+			.append(this.bytesRead)
+			.append(", bytesWritten=")
+			.append(this.bytesWritten)
+			.append("]");
+		return sb.toString();
+	}
+	
+}
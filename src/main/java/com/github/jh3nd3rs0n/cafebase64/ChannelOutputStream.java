@@ -0,0 +1,115 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+final class ChannelOutputStream extends OutputStream {
+
+	private static int defaultBufferLength() {
+		return BufferPolicy.blockLength(
+				BufferPolicy.Source.REGULAR_FILE,
+				EngineSelector.UNKNOWN_LENGTH);
+	}
+
+	private final ByteBuffer buffer;
+	private final WritableByteChannel channel;
+	private final boolean sparse;
+
+	ChannelOutputStream(final FileChannel ch, final boolean sprs) {
+		this(ch, defaultBufferLength(), sprs);
+	}
+
+	ChannelOutputStream(final WritableByteChannel ch) {
+		this(ch, defaultBufferLength());
+	}
+
+	ChannelOutputStream(final WritableByteChannel ch, final int bufferLen) {
+		this(ch, bufferLen, false);
+	}
+
+	ChannelOutputStream(
+			final WritableByteChannel ch,
+			final int bufferLen,
+			final boolean sprs) {
+		if (bufferLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"buffer length must be positive: %s", bufferLen));
+		}
+		if (sprs && !(ch instanceof FileChannel)) {
+			throw new IllegalArgumentException(
+					"sparse output requires a file channel");
+		}
+		this.buffer = ByteBuffer.allocateDirect(bufferLen);
+		this.channel = ch;
+		this.sparse = sprs;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			this.flush();
+		} finally {
+			this.channel.close();
+		}
+	}
+
+	private void drain() throws IOException {
+		this.buffer.flip();
+		try {
+			this.writeFully(this.buffer);
+		} finally {
+			this.buffer.clear();
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.drain();
+		if (this.sparse) {
+			FileChannel fileChannel = (FileChannel) this.channel;
+			SparseFileWriter.setLength(fileChannel, fileChannel.position());
+		}
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+			throws IOException {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len > this.buffer.remaining()) {
+			this.drain();
+		}
+		if (len >= this.buffer.capacity()) {
+			this.writeFully(ByteBuffer.wrap(b, off, len));
+			return;
+		}
+		this.buffer.put(b, off, len);
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		if (!this.buffer.hasRemaining()) {
+			this.drain();
+		}
+		this.buffer.put((byte) b);
+	}
+
+	private void writeFully(final ByteBuffer src) throws IOException {
+		if (this.sparse) {
+			FileChannel fileChannel = (FileChannel) this.channel;
+			long position = fileChannel.position();
+			int length = src.remaining();
+			SparseFileWriter.write(fileChannel, src, position);
+			fileChannel.position(position + length);
+			return;
+		}
+		while (src.hasRemaining()) {
+			this.channel.write(src);
+		}
+	}
+
+}
@@ -0,0 +1,223 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+final class Checkpoint {
+
+	private static final String COLUMN_LIMIT_KEY = "columnLimit";
+	private static final String DECODING_KEY = "decoding";
+	private static final String GARBAGE_IGNORED_KEY = "garbageIgnored";
+	private static final String INPUT_KEY = "input";
+	private static final String INPUT_OFFSET_KEY = "inputOffset";
+	private static final String OUTPUT_KEY = "output";
+	private static final String OUTPUT_OFFSET_KEY = "outputOffset";
+	private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+	private static final String TEMPORARY_OUTPUT_KEY = "temporaryOutput";
+
+	private static String getProperty(
+			final Properties properties,
+			final String key,
+			final Path file) throws IOException {
+		String value = properties.getProperty(key);
+		if (value == null) {
+			throw new IOException(String.format(
+					"%s: missing property '%s'", file, key));
+		}
+		return value;
+	}
+
+	public static Checkpoint load(final Path file) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		try {
+			return new Checkpoint(
+					Boolean.parseBoolean(getProperty(
+							properties, DECODING_KEY, file)),
+					Integer.parseInt(getProperty(
+							properties, COLUMN_LIMIT_KEY, file)),
+					Boolean.parseBoolean(getProperty(
+							properties, GARBAGE_IGNORED_KEY, file)),
+					Paths.get(getProperty(properties, INPUT_KEY, file)),
+					Paths.get(getProperty(properties, OUTPUT_KEY, file)),
+					Paths.get(getProperty(
+							properties, TEMPORARY_OUTPUT_KEY, file)),
+					Long.parseLong(getProperty(
+							properties, INPUT_OFFSET_KEY, file)),
+					Long.parseLong(getProperty(
+							properties, OUTPUT_OFFSET_KEY, file)));
+		} catch (IllegalArgumentException e) {
+			throw new IOException(String.format(
+					"%s: invalid checkpoint: %s", file, e.getMessage()), e);
+		}
+	}
+
+	private final int columnLimit;
+	private final boolean decoding;
+	private final boolean garbageIgnored;
+	private final Path input;
+	private final long inputOffset;
+	private final Path output;
+	private final long outputOffset;
+	private final Path temporaryOutput;
+
+	Checkpoint(
+			final boolean decode,
+			final int colLimit,
+			final boolean ignoreGarbage,
+			final Path in,
+			final Path out,
+			final Path tempOut,
+			final long inOffset,
+			final long outOffset) {
+		CafeBase64Encoder.checkColumnLimit(colLimit);
+		if (inOffset < 0L || outOffset < 0L) {
+			throw new IllegalArgumentException(String.format(
+					"offsets must not be negative: %s, %s",
+					inOffset,
+					outOffset));
+		}
+		if (!decode && inOffset % 3L != 0L) {
+			throw new IllegalArgumentException(String.format(
+					"input offset must be a multiple of 3: %s", inOffset));
+		}
+		this.columnLimit = colLimit;
+		this.decoding = decode;
+		this.garbageIgnored = ignoreGarbage;
+		this.input = in.toAbsolutePath();
+		this.inputOffset = inOffset;
+		this.output = out.toAbsolutePath();
+		this.outputOffset = outOffset;
+		this.temporaryOutput = tempOut.toAbsolutePath();
+	}
+
+	public Checkpoint advance(final long inOffset, final long outOffset) {
+		return new Checkpoint(
+				this.decoding,
+				this.columnLimit,
+				this.garbageIgnored,
+				this.input,
+				this.output,
+				this.temporaryOutput,
+				inOffset,
+				outOffset);
+	}
+
+	public int getColumnLimit() {
+		return this.columnLimit;
+	}
+
+	public Path getInput() {
+		return this.input;
+	}
+
+	public long getInputOffset() {
+		return this.inputOffset;
+	}
+
+	public Path getOutput() {
+		return this.output;
+	}
+
+	public long getOutputOffset() {
+		return this.outputOffset;
+	}
+
+	public Path getTemporaryOutput() {
+		return this.temporaryOutput;
+	}
+
+	public boolean isDecoding() {
+		return this.decoding;
+	}
+
+	public boolean isGarbageIgnored() {
+		return this.garbageIgnored;
+	}
+
+	public boolean isSameConversion(final Checkpoint other) {
+		if (this.decoding != other.decoding) {
+			return false;
+		}
+		if (this.decoding ?
+				this.garbageIgnored != other.garbageIgnored
+				: this.columnLimit != other.columnLimit) {
+			return false;
+		}
+		return this.input.equals(other.input)
+				&& this.output.equals(other.output);
+	}
+
+	public CafeBase64Codec newCodec() {
+		if (this.decoding) {
+			return new CafeBase64Decoder(this.garbageIgnored);
+		}
+		return new CafeBase64Encoder(this.columnLimit, this.inputOffset);
+	}
+
+	public void store(final Path file) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(
+				COLUMN_LIMIT_KEY, Integer.toString(this.columnLimit));
+		properties.setProperty(DECODING_KEY, Boolean.toString(this.decoding));
+		properties.setProperty(
+				GARBAGE_IGNORED_KEY, Boolean.toString(this.garbageIgnored));
+		properties.setProperty(INPUT_KEY, this.input.toString());
+		properties.setProperty(
+				INPUT_OFFSET_KEY, Long.toString(this.inputOffset));
+		properties.setProperty(OUTPUT_KEY, this.output.toString());
+		properties.setProperty(
+				OUTPUT_OFFSET_KEY, Long.toString(this.outputOffset));
+		properties.setProperty(
+				TEMPORARY_OUTPUT_KEY, this.temporaryOutput.toString());
+		Path temporaryFile = file.resolveSibling(
+				file.getFileName() + TEMPORARY_FILE_SUFFIX);
+		try (FileChannel channel = FileChannel.open(
+				temporaryFile,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE)) {
+			OutputStream out = Channels.newOutputStream(channel);
+			properties.store(out, null);
+			out.flush();
+			channel.force(true);
+		}
+		Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName())
+			.append(" [decoding=")
+			.append(this.decoding)
+			.append(", columnLimit=")
+			.append(this.columnLimit)
+			.append(", garbageIgnored=")
+			.append(this.garbageIgnored)
+			.append(", input=")
+			.append(this.input)
+			.append(", output=")
+			.append(this.output)
+			.append(", temporaryOutput=")
+			.append(this.temporaryOutput)
+			.append(", inputOffset=")
+			.append(this.inputOffset)
+			.append(", outputOffset=")
+			.append(this.outputOffset)
+			.append("]");
+		return sb.toString();
+	}
+
+}
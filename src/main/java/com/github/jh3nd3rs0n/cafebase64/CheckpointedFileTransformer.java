@@ -0,0 +1,138 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+final class CheckpointedFileTransformer {
+
+	static final String CHECKPOINT_INTERVAL_PROPERTY =
+			"com.github.jh3nd3rs0n.cafebase64.checkpointInterval";
+
+	private static final long DEFAULT_CHECKPOINT_INTERVAL =
+			64L * 1024L * 1024L;
+
+	private static int readFully(final FileChannel in, final ByteBuffer dst)
+			throws IOException {
+		int length = 0;
+		while (dst.hasRemaining()) {
+			int n = in.read(dst);
+			if (n == -1) {
+				return (length == 0) ? -1 : length;
+			}
+			length += n;
+		}
+		return length;
+	}
+
+	private static void writeFully(final FileChannel out, final ByteBuffer src)
+			throws IOException {
+		while (src.hasRemaining()) {
+			out.write(src);
+		}
+	}
+
+	private final int blockLength;
+	private final Path checkpointFile;
+	private final long checkpointInterval;
+
+	CheckpointedFileTransformer(final Path file) {
+		this(
+				file,
+				Long.getLong(
+						CHECKPOINT_INTERVAL_PROPERTY,
+						DEFAULT_CHECKPOINT_INTERVAL).longValue(),
+				BufferPolicy.blockLength(
+						BufferPolicy.Source.REGULAR_FILE,
+						EngineSelector.UNKNOWN_LENGTH));
+	}
+
+	CheckpointedFileTransformer(
+			final Path file, final long interval, final int blockLen) {
+		if (interval <= 0L) {
+			throw new IllegalArgumentException(String.format(
+					"checkpoint interval must be positive: %s", interval));
+		}
+		if (blockLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"block length must be positive: %s", blockLen));
+		}
+		this.blockLength = Math.max(3, blockLen / 3 * 3);
+		this.checkpointFile = file;
+		this.checkpointInterval = interval;
+	}
+
+	private Checkpoint record(
+			final Checkpoint checkpoint,
+			final FileChannel out,
+			final long inputOffset,
+			final long outputOffset) throws IOException {
+		out.force(false);
+		Checkpoint next = checkpoint.advance(inputOffset, outputOffset);
+		next.store(this.checkpointFile);
+		return next;
+	}
+
+	CafeBase64Result transform(
+			final FileChannel in,
+			final FileChannel out,
+			final Checkpoint start) throws IOException {
+		if (in.size() < start.getInputOffset()
+				|| out.size() < start.getOutputOffset()) {
+			throw new IOException(String.format(
+					"%s: the input or the output is shorter than recorded",
+					this.checkpointFile));
+		}
+		Checkpoint checkpoint = start;
+		checkpoint.store(this.checkpointFile);
+		CafeBase64Codec codec = checkpoint.newCodec();
+		boolean decoding = checkpoint.isDecoding();
+		in.position(checkpoint.getInputOffset());
+		out.position(checkpoint.getOutputOffset());
+		byte[] src = new byte[this.blockLength];
+		byte[] dst = new byte[codec.maxOutputLength(this.blockLength)];
+		int alphabetCharCount = 0;
+		long inputOffset = checkpoint.getInputOffset();
+		long outputOffset = checkpoint.getOutputOffset();
+		while (true) {
+			int srcLength = readFully(in, ByteBuffer.wrap(src));
+			if (srcLength == -1) {
+				break;
+			}
+			int dstLength = codec.transform(src, 0, srcLength, dst, 0);
+			writeFully(out, ByteBuffer.wrap(dst, 0, dstLength));
+			outputOffset += dstLength;
+			long checkpointOffset = inputOffset + srcLength;
+			if (decoding) {
+				checkpointOffset = -1L;
+				for (int i = 0; i < srcLength; i++) {
+					if (!CafeBase64Decoder.isAlphabetChar(src[i] & 0xff)) {
+						continue;
+					}
+					alphabetCharCount = (alphabetCharCount + 1) % 4;
+					if (alphabetCharCount == 0) {
+						checkpointOffset = inputOffset + i + 1;
+					}
+				}
+			} else if (srcLength < src.length) {
+				checkpointOffset = -1L;
+			}
+			inputOffset += srcLength;
+			if (checkpointOffset != -1L
+					&& checkpointOffset - checkpoint.getInputOffset()
+							>= this.checkpointInterval) {
+				checkpoint = this.record(
+						checkpoint, out, checkpointOffset, outputOffset);
+			}
+		}
+		int dstLength = codec.finish(dst, 0);
+		writeFully(out, ByteBuffer.wrap(dst, 0, dstLength));
+		outputOffset += dstLength;
+		out.force(false);
+		return new CafeBase64Result(
+				inputOffset - start.getInputOffset(),
+				outputOffset - start.getOutputOffset());
+	}
+
+}
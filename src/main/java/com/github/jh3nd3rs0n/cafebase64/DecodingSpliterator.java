@@ -0,0 +1,155 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+final class DecodingSpliterator implements Spliterator<CafeBase64Chunk> {
+
+	private static final class Boundary {
+
+		private final long decodedLength;
+		private final int index;
+
+		public Boundary(final int i, final long decodedLen) {
+			this.decodedLength = decodedLen;
+			this.index = i;
+		}
+
+	}
+
+	private static final int DEFAULT_CHUNK_LENGTH = 64 * 1024;
+
+	private final int chunkLength;
+	private final int end;
+	private final boolean garbageIgnored;
+	private int index;
+	private long offset;
+	private final ByteBuffer src;
+
+	DecodingSpliterator(final ByteBuffer s, final boolean ignoreGarbage) {
+		this(s, ignoreGarbage, DEFAULT_CHUNK_LENGTH);
+	}
+
+	DecodingSpliterator(
+			final ByteBuffer s,
+			final boolean ignoreGarbage,
+			final int chunkLen) {
+		if (chunkLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"chunk length must be positive: %s", chunkLen));
+		}
+		this.chunkLength = chunkLen;
+		this.garbageIgnored = ignoreGarbage;
+		this.src = s.slice();
+		this.end = this.src.limit();
+		this.index = 0;
+		this.offset = 0L;
+	}
+
+	private DecodingSpliterator(
+			final DecodingSpliterator other,
+			final int from,
+			final int to,
+			final long off) {
+		this.chunkLength = other.chunkLength;
+		this.end = to;
+		this.garbageIgnored = other.garbageIgnored;
+		this.index = from;
+		this.offset = off;
+		this.src = other.src;
+	}
+
+	private Boundary boundary(final int minEnd) {
+		long alphabetCharCount = 0L;
+		long paddingCharCount = 0L;
+		int i = this.index;
+		while (i < this.end && (i < minEnd || alphabetCharCount % 4L != 0L)) {
+			int c = this.src.get(i) & 0xff;
+			if (CafeBase64Decoder.isAlphabetChar(c)) {
+				alphabetCharCount++;
+				if (CafeBase64Decoder.isPaddingChar(c)) {
+					paddingCharCount++;
+				}
+			}
+			i++;
+		}
+		return new Boundary(
+				i, alphabetCharCount / 4L * 3L - paddingCharCount);
+	}
+
+	@Override
+	public int characteristics() {
+		return Spliterator.IMMUTABLE
+				| Spliterator.NONNULL
+				| Spliterator.ORDERED;
+	}
+
+	private CafeBase64Chunk decode(final int from, final int to) {
+		CafeBase64Decoder decoder = new CafeBase64Decoder(
+				this.garbageIgnored);
+		byte[] dst = new byte[decoder.maxOutputLength(to - from)];
+		int dstLength;
+		try {
+			if (this.src.hasArray()) {
+				dstLength = decoder.decode(
+						this.src.array(),
+						this.src.arrayOffset() + from,
+						to - from,
+						dst,
+						0);
+			} else {
+				byte[] b = new byte[to - from];
+				ByteBuffer duplicate = this.src.duplicate();
+				duplicate.position(from);
+				duplicate.get(b);
+				dstLength = decoder.decode(b, 0, b.length, dst, 0);
+			}
+			dstLength += decoder.finish(dst, dstLength);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new CafeBase64Chunk(
+				ByteBuffer.wrap(dst, 0, dstLength).slice(), this.offset);
+	}
+
+	@Override
+	public long estimateSize() {
+		return ((long) this.end - this.index + this.chunkLength - 1L)
+				/ this.chunkLength;
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super CafeBase64Chunk> action) {
+		if (this.index >= this.end) {
+			return false;
+		}
+		int to = this.boundary((int) Math.min(
+				this.end, (long) this.index + this.chunkLength)).index;
+		CafeBase64Chunk chunk = this.decode(this.index, to);
+		this.index = to;
+		this.offset += chunk.getLength();
+		action.accept(chunk);
+		return true;
+	}
+
+	@Override
+	public Spliterator<CafeBase64Chunk> trySplit() {
+		int length = this.end - this.index;
+		if (length / 2 < this.chunkLength) {
+			return null;
+		}
+		Boundary mid = this.boundary(this.index + length / 2);
+		if (mid.index >= this.end) {
+			return null;
+		}
+		DecodingSpliterator prefix = new DecodingSpliterator(
+				this, this.index, mid.index, this.offset);
+		this.offset += mid.decodedLength;
+		this.index = mid.index;
+		return prefix;
+	}
+
+}
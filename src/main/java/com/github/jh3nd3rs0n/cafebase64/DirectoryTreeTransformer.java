@@ -0,0 +1,153 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class DirectoryTreeTransformer {
+
+	private final class DirectoryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path directory;
+
+		public DirectoryTask(final Path dir) {
+			this.directory = dir;
+		}
+
+		@Override
+		protected void compute() {
+			List<ForkJoinTask<Void>> tasks =
+					new ArrayList<ForkJoinTask<Void>>();
+			try {
+				DirectoryStream<Path> entries = Files.newDirectoryStream(
+						this.directory);
+				try {
+					for (Path entry : entries) {
+						BasicFileAttributes attributes = Files.readAttributes(
+								entry,
+								BasicFileAttributes.class,
+								LinkOption.NOFOLLOW_LINKS);
+						if (attributes.isDirectory()) {
+							if (!entry.equals(
+									DirectoryTreeTransformer.this.outputRoot)) {
+								tasks.add(new DirectoryTask(entry).fork());
+							}
+						} else if (attributes.isRegularFile()) {
+							tasks.add(new FileTask(entry).fork());
+						}
+					}
+				} finally {
+					entries.close();
+				}
+			} catch (IOException e) {
+				DirectoryTreeTransformer.this.fail(this.directory, e);
+			} catch (RuntimeException e) {
+				DirectoryTreeTransformer.this.fail(
+						this.directory, new IOException(e));
+			}
+			for (int i = tasks.size() - 1; i >= 0; i--) {
+				tasks.get(i).join();
+			}
+		}
+
+	}
+
+	private final class FileTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path file;
+
+		public FileTask(final Path f) {
+			this.file = f;
+		}
+
+		@Override
+		protected void compute() {
+			DirectoryTreeTransformer transformer = DirectoryTreeTransformer.this;
+			try {
+				FileListTransformer.transform(
+						transformer.transformation,
+						this.file,
+						FileListTransformer.getOutputPath(
+								transformer.inputRoot.relativize(this.file),
+								transformer.outputRoot,
+								transformer.decoding));
+			} catch (IOException e) {
+				transformer.fail(this.file, e);
+			} catch (RuntimeException e) {
+				transformer.fail(this.file, new IOException(e));
+			}
+		}
+
+	}
+
+	static Path getOutputDirectory(
+			final Path inputDirectory, final boolean decoding) {
+		Path dir = inputDirectory.toAbsolutePath().normalize();
+		return dir.resolveSibling(
+				FileListTransformer.getOutputFileName(dir, decoding));
+	}
+
+	private final boolean decoding;
+	private final MultiFileTransformer.ErrorHandler errorHandler;
+	private final AtomicLong failureCount;
+	private Path inputRoot;
+	private Path outputRoot;
+	private final ForkJoinPool pool;
+	private final Object reportLock;
+	private final MultiFileTransformer.Transformation transformation;
+
+	DirectoryTreeTransformer(
+			final MultiFileTransformer.Transformation t,
+			final boolean decode,
+			final ForkJoinPool p,
+			final MultiFileTransformer.ErrorHandler handler) {
+		this.decoding = decode;
+		this.errorHandler = handler;
+		this.failureCount = new AtomicLong();
+		this.inputRoot = null;
+		this.outputRoot = null;
+		this.pool = p;
+		this.reportLock = new Object();
+		this.transformation = t;
+	}
+
+	private void fail(final Path path, final IOException e) {
+		this.failureCount.incrementAndGet();
+		synchronized (this.reportLock) {
+			this.errorHandler.handleError(path.toString(), e);
+		}
+	}
+
+	long transform(final Path inputDirectory, final Path outputDirectory)
+			throws IOException {
+		if (!Files.isDirectory(inputDirectory)) {
+			throw new IOException(String.format(
+					"not a directory: %s", inputDirectory));
+		}
+		this.failureCount.set(0L);
+		this.inputRoot = inputDirectory.toAbsolutePath().normalize();
+		this.outputRoot = outputDirectory.toAbsolutePath().normalize();
+		if (this.outputRoot.equals(this.inputRoot)) {
+			throw new IOException(String.format(
+					"output directory is the input directory: %s",
+					inputDirectory));
+		}
+		Files.createDirectories(this.outputRoot);
+		this.pool.invoke(new DirectoryTask(this.inputRoot));
+		return this.failureCount.get();
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+final class EncodingSpliterator implements Spliterator<CafeBase64Chunk> {
+
+	private static final int DEFAULT_CHUNK_LENGTH = 64 * 1024;
+	private static final int MAX_CHUNK_LENGTH = 3 * 64 * 1024 * 1024;
+
+	static long alignmentLength(final int columnLimit) {
+		if (columnLimit == 0) {
+			return 3L;
+		}
+		int divisor = (columnLimit % 4 == 0) ?
+				4 : ((columnLimit % 2 == 0) ? 2 : 1);
+		return 3L * (columnLimit / divisor);
+	}
+
+	private final int chunkLength;
+	private final int columnLimit;
+	private final int end;
+	private int index;
+	private final int lineSeparatorLength;
+	private final ByteBuffer src;
+
+	EncodingSpliterator(final ByteBuffer s, final int colLimit) {
+		this(s, colLimit, DEFAULT_CHUNK_LENGTH);
+	}
+
+	EncodingSpliterator(
+			final ByteBuffer s, final int colLimit, final int chunkLen) {
+		CafeBase64Encoder.checkColumnLimit(colLimit);
+		if (chunkLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"chunk length must be positive: %s", chunkLen));
+		}
+		long alignment = alignmentLength(colLimit);
+		long length = Math.min(chunkLen, MAX_CHUNK_LENGTH);
+		this.chunkLength = (int) Math.min(
+				Math.max(alignment, length / alignment * alignment),
+				MAX_CHUNK_LENGTH);
+		this.columnLimit = colLimit;
+		this.src = s.slice();
+		this.end = this.src.limit();
+		this.index = 0;
+		this.lineSeparatorLength = CafeBase64Encoder.lineSeparatorLength();
+	}
+
+	private EncodingSpliterator(
+			final EncodingSpliterator other, final int from, final int to) {
+		this.chunkLength = other.chunkLength;
+		this.columnLimit = other.columnLimit;
+		this.end = to;
+		this.index = from;
+		this.lineSeparatorLength = other.lineSeparatorLength;
+		this.src = other.src;
+	}
+
+	@Override
+	public int characteristics() {
+		return Spliterator.IMMUTABLE
+				| Spliterator.NONNULL
+				| Spliterator.ORDERED
+				| Spliterator.SIZED
+				| Spliterator.SUBSIZED;
+	}
+
+	private CafeBase64Chunk encode(final int from, final int to) {
+		long offset = CafeBase64Encoder.encodedOffset(
+				from, this.columnLimit, this.lineSeparatorLength);
+		long endOffset = (to == this.src.limit()) ?
+				CafeBase64Encoder.encodedLength(
+						to, this.columnLimit, this.lineSeparatorLength)
+				: CafeBase64Encoder.encodedOffset(
+						to, this.columnLimit, this.lineSeparatorLength);
+		byte[] dst = new byte[(int) (endOffset - offset)];
+		CafeBase64Encoder encoder = new CafeBase64Encoder(
+				this.columnLimit, from);
+		int dstLength;
+		if (this.src.hasArray()) {
+			dstLength = encoder.encode(
+					this.src.array(),
+					this.src.arrayOffset() + from,
+					to - from,
+					dst,
+					0);
+		} else {
+			byte[] b = new byte[to - from];
+			ByteBuffer duplicate = this.src.duplicate();
+			duplicate.position(from);
+			duplicate.get(b);
+			dstLength = encoder.encode(b, 0, b.length, dst, 0);
+		}
+		if (to == this.src.limit()) {
+			encoder.finish(dst, dstLength);
+		}
+		return new CafeBase64Chunk(ByteBuffer.wrap(dst), offset);
+	}
+
+	@Override
+	public long estimateSize() {
+		return ((long) this.end - this.index + this.chunkLength - 1L)
+				/ this.chunkLength;
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super CafeBase64Chunk> action) {
+		if (this.index >= this.end) {
+			return false;
+		}
+		int to = (int) Math.min(this.end, (long) this.index + this.chunkLength);
+		CafeBase64Chunk chunk = this.encode(this.index, to);
+		this.index = to;
+		action.accept(chunk);
+		return true;
+	}
+
+	@Override
+	public Spliterator<CafeBase64Chunk> trySplit() {
+		long chunkCount = this.estimateSize();
+		if (chunkCount < 2L) {
+			return null;
+		}
+		int mid = (int) (this.index + chunkCount / 2L * this.chunkLength);
+		EncodingSpliterator prefix = new EncodingSpliterator(
+				this, this.index, mid);
+		this.index = mid;
+		return prefix;
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+
+final class EngineSelector {
+
+	public static enum Engine {
+
+		BLOCK,
+
+		MINIMAL,
+
+		PARALLEL,
+
+		PIPELINED;
+
+	}
+
+	public static final long UNKNOWN_LENGTH = -1L;
+
+	static final String PARALLELISM_THRESHOLD_PROPERTY =
+			"com.github.jh3nd3rs0n.cafebase64.parallelismThreshold";
+	static final String PIPELINING_THRESHOLD_PROPERTY =
+			"com.github.jh3nd3rs0n.cafebase64.pipeliningThreshold";
+	static final String SMALL_INPUT_THRESHOLD_PROPERTY =
+			"com.github.jh3nd3rs0n.cafebase64.smallInputThreshold";
+
+	private static final long DEFAULT_PARALLELISM_THRESHOLD = 1024L * 1024L;
+	private static final long DEFAULT_PIPELINING_THRESHOLD =
+			4L * 1024L * 1024L;
+	private static final long DEFAULT_SMALL_INPUT_THRESHOLD = 8192L;
+
+	public static long knownLength(final FileChannel channel)
+			throws IOException {
+		long size = channel.size();
+		if (size == 0L) {
+			return UNKNOWN_LENGTH;
+		}
+		return Math.max(0L, size - channel.position());
+	}
+
+	public static long knownLength(final InputStream in) {
+		try {
+			if (in instanceof ByteArrayInputStream) {
+				return in.available();
+			}
+			if (in instanceof FileInputStream) {
+				return knownLength(((FileInputStream) in).getChannel());
+			}
+		} catch (IOException e) {
+			return UNKNOWN_LENGTH;
+		}
+		return UNKNOWN_LENGTH;
+	}
+
+	public static EngineSelector newInstance(final int processors) {
+		return new EngineSelector(
+				processors,
+				Long.getLong(
+						SMALL_INPUT_THRESHOLD_PROPERTY,
+						DEFAULT_SMALL_INPUT_THRESHOLD).longValue(),
+				Long.getLong(
+						PIPELINING_THRESHOLD_PROPERTY,
+						DEFAULT_PIPELINING_THRESHOLD).longValue(),
+				Long.getLong(
+						PARALLELISM_THRESHOLD_PROPERTY,
+						DEFAULT_PARALLELISM_THRESHOLD).longValue());
+	}
+
+	private final long parallelismThreshold;
+	private final long pipeliningThreshold;
+	private final int processorCount;
+	private final long smallInputThreshold;
+
+	EngineSelector(
+			final int processors,
+			final long smallInputThresh,
+			final long pipeliningThresh,
+			final long parallelismThresh) {
+		if (processors <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"processor count must be positive: %s", processors));
+		}
+		this.parallelismThreshold = parallelismThresh;
+		this.pipeliningThreshold = pipeliningThresh;
+		this.processorCount = processors;
+		this.smallInputThreshold = smallInputThresh;
+	}
+
+	public int parallelismThreshold() {
+		if (this.processorCount == 1 || this.parallelismThreshold < 0L) {
+			return Integer.MAX_VALUE;
+		}
+		return (int) Math.min(this.parallelismThreshold, Integer.MAX_VALUE);
+	}
+
+	public Engine select(
+			final long knownLength, final boolean positionalIoSupported) {
+		if (knownLength == UNKNOWN_LENGTH) {
+			return Engine.BLOCK;
+		}
+		if (knownLength <= this.smallInputThreshold) {
+			return Engine.MINIMAL;
+		}
+		if (this.processorCount > 1) {
+			if (positionalIoSupported
+					&& this.parallelismThreshold >= 0L
+					&& knownLength >= this.parallelismThreshold) {
+				return Engine.PARALLEL;
+			}
+			if (this.pipeliningThreshold >= 0L
+					&& knownLength >= this.pipeliningThreshold) {
+				return Engine.PIPELINED;
+			}
+		}
+		return Engine.BLOCK;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName())
+			.append(" [processorCount=")
+			.append(this.processorCount)
+			.append(", smallInputThreshold=")
+			.append(this.smallInputThreshold)
+			.append(", pipeliningThreshold=")
+			.append(this.pipeliningThreshold)
+			.append(", parallelismThreshold=")
+			.append(this.parallelismThreshold)
+			.append("]");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,368 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FileListTransformer {
+
+	private final class BlockingFileInputStream extends FileInputStream {
+
+		public BlockingFileInputStream(final File file) throws IOException {
+			super(file);
+		}
+
+		@Override
+		public int read() throws IOException {
+			FileListTransformer.this.codecPermits.release();
+			try {
+				return super.read();
+			} finally {
+				FileListTransformer.this.codecPermits.acquireUninterruptibly();
+			}
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len)
+				throws IOException {
+			FileListTransformer.this.codecPermits.release();
+			try {
+				return super.read(b, off, len);
+			} finally {
+				FileListTransformer.this.codecPermits.acquireUninterruptibly();
+			}
+		}
+
+		@Override
+		public long skip(final long n) throws IOException {
+			FileListTransformer.this.codecPermits.release();
+			try {
+				return super.skip(n);
+			} finally {
+				FileListTransformer.this.codecPermits.acquireUninterruptibly();
+			}
+		}
+
+	}
+
+	private final class BlockingOutputStream extends FilterOutputStream {
+
+		public BlockingOutputStream(final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			FileListTransformer.this.codecPermits.release();
+			try {
+				this.out.flush();
+			} finally {
+				FileListTransformer.this.codecPermits.acquireUninterruptibly();
+			}
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len)
+				throws IOException {
+			FileListTransformer.this.codecPermits.release();
+			try {
+				this.out.write(b, off, len);
+			} finally {
+				FileListTransformer.this.codecPermits.acquireUninterruptibly();
+			}
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			FileListTransformer.this.codecPermits.release();
+			try {
+				this.out.write(b);
+			} finally {
+				FileListTransformer.this.codecPermits.acquireUninterruptibly();
+			}
+		}
+
+	}
+
+	private final class FileTask implements Runnable {
+
+		private final String name;
+
+		public FileTask(final String n) {
+			this.name = n;
+		}
+
+		@Override
+		public void run() {
+			try {
+				FileListTransformer.this.transform(this.name);
+			} catch (IOException e) {
+				FileListTransformer.this.fail(this.name, e);
+			} catch (RuntimeException e) {
+				FileListTransformer.this.fail(this.name, new IOException(e));
+			} finally {
+				FileListTransformer.this.permits.release();
+			}
+		}
+
+	}
+
+	private static final String DECODED_FILE_SUFFIX = ".decoded";
+	private static final String ENCODED_FILE_SUFFIX = ".b64";
+	private static final int VIRTUAL_THREAD_TASK_LIMIT = 256;
+
+	static String getOutputFileName(
+			final Path input, final boolean decoding) {
+		String fileName = input.getFileName().toString();
+		if (!decoding) {
+			fileName = fileName + ENCODED_FILE_SUFFIX;
+		} else if (fileName.endsWith(ENCODED_FILE_SUFFIX)
+				&& fileName.length() > ENCODED_FILE_SUFFIX.length()) {
+			fileName = fileName.substring(
+					0, fileName.length() - ENCODED_FILE_SUFFIX.length());
+		} else {
+			fileName = fileName + DECODED_FILE_SUFFIX;
+		}
+		return fileName;
+	}
+
+	static Path getOutputPath(
+			final Path input,
+			final Path outputDirectory,
+			final boolean decoding) throws IOException {
+		String fileName = getOutputFileName(input, decoding);
+		Path parent = input.getParent();
+		if (outputDirectory == null) {
+			return (parent == null) ?
+					Paths.get(fileName) : parent.resolve(fileName);
+		}
+		if (parent == null) {
+			return outputDirectory.resolve(fileName);
+		}
+		Path relativeParent = parent.getRoot() == null ?
+				parent : parent.getRoot().relativize(parent);
+		Path output = outputDirectory.resolve(
+				relativeParent.toString()).resolve(fileName).normalize();
+		if (!output.startsWith(outputDirectory.normalize())) {
+			throw new IOException(String.format(
+					"output file %s would be outside of %s",
+					output,
+					outputDirectory));
+		}
+		return output;
+	}
+
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method method = Executors.class.getMethod(
+					"newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (IllegalAccessException e) {
+			return null;
+		} catch (InvocationTargetException e) {
+			return null;
+		}
+	}
+
+	private static String readName(
+			final BufferedReader reader, final char delimiter)
+			throws IOException {
+		StringBuilder sb = new StringBuilder();
+		while (true) {
+			int c = reader.read();
+			if (c == -1) {
+				return (sb.length() == 0) ? null : sb.toString();
+			}
+			if (c == delimiter) {
+				if (sb.length() == 0) {
+					continue;
+				}
+				return sb.toString();
+			}
+			sb.append((char) c);
+		}
+	}
+
+	private static void transform(
+			final MultiFileTransformer.Transformation transformation,
+			final InputStream in,
+			final Path output) throws IOException {
+		Path parent = output.getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		AtomicOutputFile outputFile;
+		try {
+			outputFile = AtomicOutputFile.newExclusiveInstance(output);
+		} catch (FileAlreadyExistsException e) {
+			throw new IOException(String.format(
+					"output file %s is already being written (%s exists)",
+					output,
+					e.getFile()),
+					e);
+		}
+		try {
+			transformation.transform(
+					in, Channels.newOutputStream(outputFile.getChannel()));
+			outputFile.commit(outputFile.getChannel().position());
+		} finally {
+			outputFile.close();
+		}
+	}
+
+	static void transform(
+			final MultiFileTransformer.Transformation transformation,
+			final Path input,
+			final Path output) throws IOException {
+		InputStream in = new FileInputStream(input.toFile());
+		try {
+			transform(transformation, in, output);
+		} finally {
+			in.close();
+		}
+	}
+
+	private Semaphore codecPermits;
+	private final boolean decoding;
+	private final MultiFileTransformer.ErrorHandler errorHandler;
+	private final AtomicLong failureCount;
+	private final Path outputDirectory;
+	private Semaphore permits;
+	private final int platformThreadCount;
+	private final Object reportLock;
+	private final MultiFileTransformer.Transformation transformation;
+
+	FileListTransformer(
+			final MultiFileTransformer.Transformation t,
+			final boolean decode,
+			final Path outputDir,
+			final int threadCount,
+			final MultiFileTransformer.ErrorHandler handler) {
+		if (threadCount <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"thread count must be positive: %s", threadCount));
+		}
+		this.codecPermits = null;
+		this.decoding = decode;
+		this.errorHandler = handler;
+		this.failureCount = new AtomicLong();
+		this.outputDirectory = outputDir;
+		this.permits = null;
+		this.platformThreadCount = threadCount;
+		this.reportLock = new Object();
+		this.transformation = t;
+	}
+
+	private void fail(final String name, final IOException e) {
+		this.failureCount.incrementAndGet();
+		synchronized (this.reportLock) {
+			this.errorHandler.handleError(name, e);
+		}
+	}
+
+	private ExecutorService newPlatformThreadExecutor() {
+		final AtomicInteger threadNumber = new AtomicInteger(1);
+		return Executors.newFixedThreadPool(
+				this.platformThreadCount, new ThreadFactory() {
+
+					@Override
+					public Thread newThread(final Runnable r) {
+						Thread thread = new Thread(r, String.format(
+								"cafebase64-file-%s",
+								threadNumber.getAndIncrement()));
+						thread.setDaemon(true);
+						return thread;
+					}
+
+				});
+	}
+
+	long transform(final InputStream list, final boolean nullDelimited)
+			throws IOException {
+		ExecutorService executor = newVirtualThreadExecutor();
+		int concurrency = Math.max(
+				VIRTUAL_THREAD_TASK_LIMIT, this.platformThreadCount);
+		if (executor == null) {
+			executor = this.newPlatformThreadExecutor();
+			concurrency = this.platformThreadCount;
+		}
+		this.failureCount.set(0L);
+		this.codecPermits = new Semaphore(this.platformThreadCount);
+		this.permits = new Semaphore(concurrency);
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(list));
+		char delimiter = nullDelimited ? '\0' : '\n';
+		try {
+			String name;
+			while ((name = readName(reader, delimiter)) != null) {
+				this.permits.acquire();
+				try {
+					executor.execute(new FileTask(name));
+				} catch (RuntimeException e) {
+					this.permits.release();
+					throw e;
+				}
+			}
+			this.permits.acquire(concurrency);
+			this.permits.release(concurrency);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ex = new InterruptedIOException(
+					"interrupted while converting listed files");
+			ex.initCause(e);
+			throw ex;
+		} finally {
+			executor.shutdown();
+		}
+		return this.failureCount.get();
+	}
+
+	private void transform(final String name) throws IOException {
+		Path input = Paths.get(name);
+		Path output = getOutputPath(input, this.outputDirectory, this.decoding);
+		final MultiFileTransformer.Transformation t = this.transformation;
+		InputStream in = new BlockingFileInputStream(input.toFile());
+		try {
+			transform(new MultiFileTransformer.Transformation() {
+
+				@Override
+				public void transform(
+						final InputStream in, final OutputStream out)
+						throws IOException {
+					FileListTransformer.this.codecPermits
+							.acquireUninterruptibly();
+					try {
+						t.transform(in, new BlockingOutputStream(out));
+					} finally {
+						FileListTransformer.this.codecPermits.release();
+					}
+				}
+
+			}, in, output);
+		} finally {
+			in.close();
+		}
+	}
+
+}
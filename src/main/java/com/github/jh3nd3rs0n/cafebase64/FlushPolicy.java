@@ -0,0 +1,95 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.OutputStream;
+
+final class FlushPolicy {
+
+	public static enum Mode {
+
+		END_OF_INPUT,
+
+		LINE,
+
+		SIZE,
+
+		TIME;
+
+	}
+
+	public static final FlushPolicy END_OF_INPUT = new FlushPolicy(
+			Mode.END_OF_INPUT, 0L);
+	public static final FlushPolicy LINE = new FlushPolicy(Mode.LINE, 0L);
+
+	private static final String MILLISECONDS_SUFFIX = "ms";
+
+	public static FlushPolicy newSizeInstance(final long size) {
+		if (size <= 0L) {
+			throw new IllegalArgumentException(String.format(
+					"flush size must be positive: %s", size));
+		}
+		return new FlushPolicy(Mode.SIZE, size);
+	}
+
+	public static FlushPolicy newTimeInstance(final long millis) {
+		if (millis <= 0L) {
+			throw new IllegalArgumentException(String.format(
+					"flush delay must be positive: %s", millis));
+		}
+		return new FlushPolicy(Mode.TIME, millis);
+	}
+
+	public static FlushPolicy valueOf(final String string) {
+		if (string.equals("eof")) {
+			return END_OF_INPUT;
+		}
+		if (string.equals("line")) {
+			return LINE;
+		}
+		try {
+			if (string.endsWith(MILLISECONDS_SUFFIX)) {
+				return newTimeInstance(Long.parseLong(string.substring(
+						0, string.length() - MILLISECONDS_SUFFIX.length())));
+			}
+			return newSizeInstance(Long.parseLong(string));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(String.format(
+					"illegal flush policy: %s", string), e);
+		}
+	}
+
+	private final Mode mode;
+	private final long threshold;
+
+	private FlushPolicy(final Mode m, final long thresh) {
+		this.mode = m;
+		this.threshold = thresh;
+	}
+
+	public Mode getMode() {
+		return this.mode;
+	}
+
+	public long getThreshold() {
+		return this.threshold;
+	}
+
+	public OutputStream newOutputStream(final OutputStream out) {
+		if (this.mode.equals(Mode.END_OF_INPUT)) {
+			return out;
+		}
+		return new FlushingOutputStream(out, this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName())
+			.append(" [mode=")
+			.append(this.mode)
+			.append(", threshold=")
+			.append(this.threshold)
+			.append("]");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Timer;
+import java.util.TimerTask;
+
+final class FlushingOutputStream extends OutputStream {
+
+	private static final class TimerHolder {
+
+		public static final Timer TIMER = new Timer("cafebase64-flush", true);
+
+	}
+
+	private static boolean containsLineBreak(
+			final byte[] b, final int off, final int len) {
+		for (int i = off; i < off + len; i++) {
+			if (b[i] == '\n' || b[i] == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean closed;
+	private IOException exception;
+	private boolean flushScheduled;
+	private final OutputStream out;
+	private final FlushPolicy policy;
+	private long unflushedLength;
+
+	FlushingOutputStream(final OutputStream o, final FlushPolicy p) {
+		this.closed = false;
+		this.exception = null;
+		this.flushScheduled = false;
+		this.out = o;
+		this.policy = p;
+		this.unflushedLength = 0L;
+	}
+
+	private void checkException() throws IOException {
+		if (this.exception != null) {
+			IOException e = this.exception;
+			this.exception = null;
+			throw e;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		try {
+			this.flush();
+		} finally {
+			this.closed = true;
+			this.out.close();
+		}
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		this.checkException();
+		this.unflushedLength = 0L;
+		this.out.flush();
+	}
+
+	private synchronized void flushOnTimer() {
+		this.flushScheduled = false;
+		if (this.closed || this.unflushedLength == 0L) {
+			return;
+		}
+		try {
+			this.flush();
+		} catch (IOException e) {
+			this.exception = e;
+		}
+	}
+
+	@Override
+	public synchronized void write(
+			final byte[] b, final int off, final int len) throws IOException {
+		this.checkException();
+		this.out.write(b, off, len);
+		if (len == 0) {
+			return;
+		}
+		this.unflushedLength += len;
+		switch (this.policy.getMode()) {
+		case LINE:
+			if (containsLineBreak(b, off, len)) {
+				this.flush();
+			}
+			break;
+		case SIZE:
+			if (this.unflushedLength >= this.policy.getThreshold()) {
+				this.flush();
+			}
+			break;
+		case TIME:
+			if (!this.flushScheduled) {
+				this.flushScheduled = true;
+				TimerHolder.TIMER.schedule(new TimerTask() {
+
+					@Override
+					public void run() {
+						FlushingOutputStream.this.flushOnTimer();
+					}
+
+				}, this.policy.getThreshold());
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		this.write(new byte[] { (byte) b }, 0, 1);
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+final class FollowingInputStream extends InputStream {
+
+	private static final long MAX_POLL_MILLIS = 1000L;
+	private static final long MIN_POLL_MILLIS = 10L;
+
+	private static void closeQuietly(final WatchService watchService) {
+		if (watchService == null) {
+			return;
+		}
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			return;
+		}
+	}
+
+	private static WatchService newWatchService(final Path file) {
+		Path dir = file.toAbsolutePath().getParent();
+		WatchService watchService = null;
+		try {
+			watchService = dir.getFileSystem().newWatchService();
+			dir.register(
+					watchService,
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+			return watchService;
+		} catch (IOException e) {
+			closeQuietly(watchService);
+			return null;
+		} catch (UnsupportedOperationException e) {
+			closeQuietly(watchService);
+			return null;
+		}
+	}
+
+	private final FileChannel channel;
+	private volatile boolean closed;
+	private final Path file;
+	private final Flushable idleAction;
+	private final WatchService watchService;
+
+	FollowingInputStream(final Path f, final Flushable idle)
+			throws IOException {
+		this.channel = FileChannel.open(f, StandardOpenOption.READ);
+		this.closed = false;
+		this.file = f;
+		this.idleAction = idle;
+		this.watchService = newWatchService(f);
+	}
+
+	@Override
+	public int available() throws IOException {
+		if (this.closed) {
+			return 0;
+		}
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(
+				0L, this.channel.size() - this.channel.position()));
+	}
+
+	private void await(final long millis) throws IOException {
+		try {
+			if (this.watchService == null) {
+				Thread.sleep(millis);
+				return;
+			}
+			WatchKey key = this.watchService.poll(
+					millis, TimeUnit.MILLISECONDS);
+			if (key != null) {
+				key.pollEvents();
+				key.reset();
+			}
+		} catch (ClosedWatchServiceException e) {
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException iioe = new InterruptedIOException();
+			iioe.initCause(e);
+			throw iioe;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.closed = true;
+		try {
+			closeQuietly(this.watchService);
+		} finally {
+			this.channel.close();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] b = new byte[1];
+		int n = this.read(b, 0, 1);
+		return (n == -1) ? -1 : b[0] & 0xff;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+			throws IOException {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		long delay = MIN_POLL_MILLIS;
+		while (!this.closed) {
+			int n;
+			try {
+				n = this.channel.read(ByteBuffer.wrap(b, off, len));
+				if (n <= 0 && this.channel.size() < this.channel.position()) {
+					throw new IOException(String.format(
+							"%s: file truncated", this.file));
+				}
+			} catch (ClosedChannelException e) {
+				if (this.closed) {
+					return -1;
+				}
+				throw e;
+			}
+			if (n > 0) {
+				return n;
+			}
+			this.idleAction.flush();
+			this.await(delay);
+			delay = Math.min(MAX_POLL_MILLIS, delay * 2L);
+		}
+		return -1;
+	}
+
+}
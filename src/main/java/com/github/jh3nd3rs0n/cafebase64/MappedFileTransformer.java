@@ -0,0 +1,219 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+final class MappedFileTransformer {
+
+	static final String MAPPING_THRESHOLD_PROPERTY =
+			"com.github.jh3nd3rs0n.cafebase64.mappingThreshold";
+
+	private static final long DEFAULT_MAPPING_THRESHOLD = 1024L * 1024L;
+	private static final long DEFAULT_WINDOW_LENGTH = 32L * 1024L * 1024L;
+
+	static boolean isMappable(final long knownLength) {
+		long threshold = Long.getLong(
+				MAPPING_THRESHOLD_PROPERTY,
+				DEFAULT_MAPPING_THRESHOLD).longValue();
+		return threshold >= 0L
+				&& knownLength != EngineSelector.UNKNOWN_LENGTH
+				&& knownLength >= threshold;
+	}
+
+	private static int quantumBoundary(final ByteBuffer window) {
+		int alphabetCharCount = 0;
+		int boundary = 0;
+		for (int i = 0; i < window.limit(); i++) {
+			if (CafeBase64Decoder.isAlphabetChar(window.get(i) & 0xff)
+					&& ++alphabetCharCount % 4 == 0) {
+				boundary = i + 1;
+			}
+		}
+		return boundary;
+	}
+
+	static void release(final MappedByteBuffer buffer) {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner;
+			try {
+				invokeCleaner = unsafeClass.getMethod(
+						"invokeCleaner", ByteBuffer.class);
+			} catch (NoSuchMethodException e) {
+				Method cleaner = buffer.getClass().getMethod("cleaner");
+				cleaner.setAccessible(true);
+				Object c = cleaner.invoke(buffer);
+				if (c != null) {
+					c.getClass().getMethod("clean").invoke(c);
+				}
+				return;
+			}
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+		} catch (ReflectiveOperationException e) {
+			return;
+		} catch (RuntimeException e) {
+			return;
+		}
+	}
+
+	private final int blockLength;
+	private final CafeBase64Codec codec;
+	private final ForkJoinPool pool;
+	private final long windowLength;
+
+	MappedFileTransformer(final CafeBase64Codec c) {
+		this(c, null);
+	}
+
+	MappedFileTransformer(final CafeBase64Codec c, final ForkJoinPool p) {
+		this(
+				c,
+				p,
+				BufferPolicy.blockLength(
+						BufferPolicy.Source.MAPPED_FILE,
+						EngineSelector.UNKNOWN_LENGTH),
+				DEFAULT_WINDOW_LENGTH);
+	}
+
+	MappedFileTransformer(
+			final CafeBase64Codec c,
+			final ForkJoinPool p,
+			final int blockLen,
+			final long windowLen) {
+		if (blockLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"block length must be positive: %s", blockLen));
+		}
+		if (windowLen <= 0L || windowLen > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format(
+					"window length must be between 1 and %s (inclusive): %s",
+					Integer.MAX_VALUE,
+					windowLen));
+		}
+		this.blockLength = blockLen;
+		this.codec = c;
+		this.pool = p;
+		this.windowLength = windowLen;
+	}
+
+	private int decodeInParallel(
+			final ByteBuffer window,
+			final OutputStream out) throws IOException {
+		final CafeBase64Decoder decoder = (CafeBase64Decoder) this.codec;
+		final ByteBuffer src = window.duplicate();
+		List<CafeBase64Chunk> chunks;
+		try {
+			chunks = this.pool.invoke(ForkJoinTask.adapt(
+					new Callable<List<CafeBase64Chunk>>() {
+
+						@Override
+						public List<CafeBase64Chunk> call() {
+							return StreamSupport.stream(
+									new DecodingSpliterator(
+											src,
+											decoder.isGarbageIgnored()),
+									true).collect(Collectors.toList());
+						}
+
+					}));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		int length = 0;
+		for (CafeBase64Chunk chunk : chunks) {
+			ByteBuffer buffer = chunk.getBuffer();
+			out.write(
+					buffer.array(),
+					buffer.arrayOffset() + buffer.position(),
+					buffer.remaining());
+			length += buffer.remaining();
+		}
+		return length;
+	}
+
+	private int transform(
+			final ByteBuffer window,
+			final byte[] src,
+			final byte[] dst,
+			final OutputStream out) throws IOException {
+		int length = 0;
+		while (window.hasRemaining()) {
+			int srcLength = Math.min(src.length, window.remaining());
+			window.get(src, 0, srcLength);
+			int dstLength = this.codec.transform(src, 0, srcLength, dst, 0);
+			out.write(dst, 0, dstLength);
+			length += dstLength;
+		}
+		return length;
+	}
+
+	CafeBase64Result transform(final FileChannel in, final OutputStream out)
+			throws IOException {
+		long start = in.position();
+		long end = Math.max(start, in.size());
+		long windowLen = this.windowLength;
+		boolean parallel = this.pool != null;
+		if (parallel && this.codec instanceof CafeBase64Encoder) {
+			long alignment = EncodingSpliterator.alignmentLength(
+					((CafeBase64Encoder) this.codec).getColumnLimit());
+			if (alignment <= windowLen) {
+				windowLen = windowLen / alignment * alignment;
+			} else {
+				parallel = false;
+			}
+		}
+		byte[] src = new byte[this.blockLength];
+		byte[] dst = new byte[this.codec.maxOutputLength(this.blockLength)];
+		long bytesWritten = 0L;
+		long position = start;
+		while (position < end) {
+			long length = Math.min(windowLen, end - position);
+			boolean last = position + length == end;
+			MappedByteBuffer window = in.map(
+					FileChannel.MapMode.READ_ONLY, position, length);
+			if (parallel && this.codec instanceof CafeBase64Encoder) {
+				byte[] b = new ParallelEncoder(
+						((CafeBase64Encoder) this.codec).getColumnLimit(),
+						this.pool,
+						0).encode(window);
+				out.write(b);
+				bytesWritten += b.length;
+			} else if (parallel) {
+				int boundary = last ?
+						window.limit() : quantumBoundary(window);
+				if (boundary == 0) {
+					parallel = false;
+					bytesWritten += this.transform(window, src, dst, out);
+				} else {
+					window.limit(boundary);
+					bytesWritten += this.decodeInParallel(window, out);
+					length = boundary;
+				}
+			} else {
+				bytesWritten += this.transform(window, src, dst, out);
+			}
+			release(window);
+			position += length;
+		}
+		int dstLength = this.codec.finish(dst, 0);
+		out.write(dst, 0, dstLength);
+		out.flush();
+		in.position(end);
+		return new CafeBase64Result(end - start, bytesWritten + dstLength);
+	}
+
+}
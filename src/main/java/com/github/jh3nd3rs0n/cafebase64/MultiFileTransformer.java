@@ -0,0 +1,266 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+final class MultiFileTransformer {
+
+	public static interface ErrorHandler {
+
+		void handleError(String operand, IOException e);
+
+	}
+
+	public static interface Transformation {
+
+		void transform(InputStream in, OutputStream out) throws IOException;
+
+	}
+
+	private final class ChunkOutputStream extends OutputStream {
+
+		private byte[] chunk;
+		private int chunkLength;
+		private final Operand operand;
+
+		public ChunkOutputStream(final Operand o) {
+			this.chunk = new byte[MultiFileTransformer.this.chunkLength];
+			this.chunkLength = 0;
+			this.operand = o;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.chunkLength == 0) {
+				return;
+			}
+			MultiFileTransformer.this.put(
+					this.operand, Arrays.copyOf(this.chunk, this.chunkLength));
+			this.chunkLength = 0;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len)
+				throws IOException {
+			int offset = off;
+			int length = len;
+			while (length > 0) {
+				if (this.chunkLength == this.chunk.length) {
+					MultiFileTransformer.this.put(this.operand, this.chunk);
+					this.chunk = new byte[this.chunk.length];
+					this.chunkLength = 0;
+				}
+				int n = Math.min(length, this.chunk.length - this.chunkLength);
+				System.arraycopy(b, offset, this.chunk, this.chunkLength, n);
+				this.chunkLength += n;
+				offset += n;
+				length -= n;
+			}
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			this.write(new byte[] { (byte) b }, 0, 1);
+		}
+
+	}
+
+	private static final class Operand {
+
+		private final BlockingQueue<byte[]> chunks;
+		private volatile IOException exception;
+		private final String name;
+		private final boolean standardInput;
+
+		public Operand(
+				final String n, final boolean stdin, final int chunkCount) {
+			this.chunks = new ArrayBlockingQueue<byte[]>(chunkCount);
+			this.exception = null;
+			this.name = n;
+			this.standardInput = stdin;
+		}
+
+	}
+
+	private final class OperandTask implements Runnable {
+
+		private final Operand operand;
+
+		public OperandTask(final Operand o) {
+			this.operand = o;
+		}
+
+		@Override
+		public void run() {
+			try {
+				InputStream in = MultiFileTransformer.this.open(this.operand);
+				try {
+					OutputStream out = new ChunkOutputStream(this.operand);
+					MultiFileTransformer.this.transformation.transform(in, out);
+					out.flush();
+				} finally {
+					if (in instanceof FileInputStream) {
+						in.close();
+					}
+				}
+			} catch (IOException e) {
+				this.operand.exception = e;
+			} catch (RuntimeException e) {
+				this.operand.exception = new IOException(e);
+			}
+			try {
+				MultiFileTransformer.this.put(this.operand, END_OF_OPERAND);
+			} catch (IOException e) {
+				if (this.operand.exception == null) {
+					this.operand.exception = e;
+				}
+			}
+		}
+
+	}
+
+	private static final int DEFAULT_CHUNK_COUNT = 4;
+	private static final int DEFAULT_CHUNK_LENGTH = 64 * 1024;
+	private static final byte[] END_OF_OPERAND = new byte[] { };
+	private static final long OFFER_TIMEOUT_MILLIS = 100L;
+
+	private volatile boolean aborted;
+	private final int chunkCount;
+	private final int chunkLength;
+	private final ExecutorService executor;
+	private final InputStream standardInput;
+	private final Transformation transformation;
+	private final int window;
+
+	MultiFileTransformer(
+			final Transformation t,
+			final InputStream stdin,
+			final ExecutorService exec,
+			final int maxConcurrentOperands) {
+		this(
+				t,
+				stdin,
+				exec,
+				maxConcurrentOperands,
+				DEFAULT_CHUNK_LENGTH,
+				DEFAULT_CHUNK_COUNT);
+	}
+
+	MultiFileTransformer(
+			final Transformation t,
+			final InputStream stdin,
+			final ExecutorService exec,
+			final int maxConcurrentOperands,
+			final int chunkLen,
+			final int chunkCnt) {
+		if (maxConcurrentOperands <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"maximum number of concurrent operands must be positive: %s",
+					maxConcurrentOperands));
+		}
+		if (chunkLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"chunk length must be positive: %s", chunkLen));
+		}
+		if (chunkCnt <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"chunk count must be positive: %s", chunkCnt));
+		}
+		this.aborted = false;
+		this.chunkCount = chunkCnt;
+		this.chunkLength = chunkLen;
+		this.executor = exec;
+		this.standardInput = stdin;
+		this.transformation = t;
+		this.window = maxConcurrentOperands;
+	}
+
+	private InputStream open(final Operand operand) throws IOException {
+		if (operand.name.equals("-")) {
+			if (operand.standardInput) {
+				return this.standardInput;
+			}
+			return new ByteArrayInputStream(new byte[] { });
+		}
+		return new FileInputStream(operand.name);
+	}
+
+	private void put(final Operand operand, final byte[] chunk)
+			throws IOException {
+		try {
+			while (!operand.chunks.offer(
+					chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (this.aborted) {
+					throw new IOException(String.format(
+							"conversion of '%s' aborted", operand.name));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ex = new InterruptedIOException(
+					String.format("conversion of '%s' interrupted",
+							operand.name));
+			ex.initCause(e);
+			throw ex;
+		}
+	}
+
+	boolean transform(
+			final List<String> operands,
+			final OutputStream out,
+			final ErrorHandler errorHandler) throws IOException {
+		List<Operand> operandList = new ArrayList<Operand>(operands.size());
+		boolean standardInputAssigned = false;
+		for (String operand : operands) {
+			boolean stdin = operand.equals("-") && !standardInputAssigned;
+			if (stdin) {
+				standardInputAssigned = true;
+			}
+			operandList.add(new Operand(operand, stdin, this.chunkCount));
+		}
+		boolean successful = true;
+		int next = 0;
+		try {
+			for (int i = 0; i < operandList.size(); i++) {
+				while (next < operandList.size() && next < i + this.window) {
+					this.executor.execute(
+							new OperandTask(operandList.get(next++)));
+				}
+				Operand operand = operandList.get(i);
+				while (true) {
+					byte[] chunk = operand.chunks.take();
+					if (chunk == END_OF_OPERAND) {
+						break;
+					}
+					out.write(chunk);
+				}
+				out.flush();
+				if (operand.exception != null) {
+					successful = false;
+					errorHandler.handleError(operand.name, operand.exception);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ex = new InterruptedIOException(
+					"interrupted while writing converted operands");
+			ex.initCause(e);
+			throw ex;
+		} finally {
+			this.aborted = true;
+		}
+		return successful;
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+final class ParallelEncoder {
+
+	private final class EncodingTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] dst;
+		private final int from;
+		private final ByteBuffer src;
+		private final int to;
+
+		public EncodingTask(
+				final ByteBuffer s,
+				final int f,
+				final int t,
+				final byte[] d) {
+			this.dst = d;
+			this.from = f;
+			this.src = s;
+			this.to = t;
+		}
+
+		@Override
+		protected void compute() {
+			int length = this.to - this.from;
+			if (length <= ParallelEncoder.this.leafLength) {
+				ParallelEncoder.this.encode(
+						this.src, this.from, this.to, this.dst);
+				return;
+			}
+			int mid = this.from + Math.max(3, length / 2 / 3 * 3);
+			invokeAll(
+					new EncodingTask(this.src, this.from, mid, this.dst),
+					new EncodingTask(this.src, mid, this.to, this.dst));
+		}
+
+	}
+
+	private static final int DEFAULT_LEAF_LENGTH = 3 * 64 * 1024;
+	private static final int DEFAULT_PARALLELISM_THRESHOLD = 1024 * 1024;
+
+	private final int columnLimit;
+	private final int leafLength;
+	private final int lineSeparatorLength;
+	private final int parallelismThreshold;
+	private final ForkJoinPool pool;
+
+	ParallelEncoder(final int colLimit, final ForkJoinPool p) {
+		this(colLimit, p, DEFAULT_PARALLELISM_THRESHOLD, DEFAULT_LEAF_LENGTH);
+	}
+
+	ParallelEncoder(
+			final int colLimit, final ForkJoinPool p, final int threshold) {
+		this(colLimit, p, threshold, DEFAULT_LEAF_LENGTH);
+	}
+
+	ParallelEncoder(
+			final int colLimit,
+			final ForkJoinPool p,
+			final int threshold,
+			final int leafLen) {
+		CafeBase64Encoder.checkColumnLimit(colLimit);
+		if (leafLen <= 0 || leafLen % 3 != 0) {
+			throw new IllegalArgumentException(String.format(
+					"leaf length must be a positive multiple of 3: %s",
+					leafLen));
+		}
+		this.columnLimit = colLimit;
+		this.leafLength = leafLen;
+		this.lineSeparatorLength = CafeBase64Encoder.lineSeparatorLength();
+		this.parallelismThreshold = threshold;
+		this.pool = p;
+	}
+
+	byte[] encode(final ByteBuffer src) {
+		ByteBuffer s = src.slice();
+		long length = CafeBase64Encoder.encodedLength(
+				s.remaining(), this.columnLimit, this.lineSeparatorLength);
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format(
+					"encoded length of %s byte(s) exceeds %s",
+					s.remaining(),
+					Integer.MAX_VALUE));
+		}
+		byte[] dst = new byte[(int) length];
+		if (s.remaining() < this.parallelismThreshold) {
+			this.encode(s, 0, s.remaining(), dst);
+		} else {
+			this.pool.invoke(new EncodingTask(s, 0, s.remaining(), dst));
+		}
+		src.position(src.limit());
+		return dst;
+	}
+
+	private void encode(
+			final ByteBuffer src,
+			final int from,
+			final int to,
+			final byte[] dst) {
+		CafeBase64Encoder encoder = new CafeBase64Encoder(
+				this.columnLimit, from);
+		int dstOffset = (int) CafeBase64Encoder.encodedOffset(
+				from, this.columnLimit, this.lineSeparatorLength);
+		if (src.hasArray()) {
+			dstOffset += encoder.encode(
+					src.array(),
+					src.arrayOffset() + from,
+					to - from,
+					dst,
+					dstOffset);
+		} else {
+			byte[] b = new byte[to - from];
+			ByteBuffer duplicate = src.duplicate();
+			duplicate.position(from);
+			duplicate.get(b);
+			dstOffset += encoder.encode(b, 0, b.length, dst, dstOffset);
+		}
+		if (to == src.limit()) {
+			encoder.finish(dst, dstOffset);
+		}
+	}
+
+}
@@ -0,0 +1,322 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ParallelFileDecoder {
+
+	private static final class Segment {
+
+		private long alphabetCharCount;
+		private long alphabetCharOffset;
+		private final long end;
+		private long firstPaddingCharIndex;
+		private long lastNonPaddingCharIndex;
+		private final long start;
+
+		public Segment(final long s, final long e) {
+			this.alphabetCharCount = 0L;
+			this.alphabetCharOffset = 0L;
+			this.end = e;
+			this.firstPaddingCharIndex = -1L;
+			this.lastNonPaddingCharIndex = -1L;
+			this.start = s;
+		}
+
+	}
+
+	private final class SegmentTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final boolean counting;
+		private final int from;
+		private final int to;
+
+		public SegmentTask(final int f, final int t, final boolean c) {
+			this.counting = c;
+			this.from = f;
+			this.to = t;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				Segment segment = ParallelFileDecoder.this.segments.get(
+						this.from);
+				try {
+					if (this.counting) {
+						ParallelFileDecoder.this.count(segment);
+					} else {
+						ParallelFileDecoder.this.decode(segment);
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return;
+			}
+			int mid = this.from + (this.to - this.from) / 2;
+			invokeAll(
+					new SegmentTask(this.from, mid, this.counting),
+					new SegmentTask(mid, this.to, this.counting));
+		}
+
+	}
+
+	private static final int DEFAULT_BLOCK_LENGTH = 64 * 1024;
+	private static final int DEFAULT_SEGMENT_LENGTH = 16 * DEFAULT_BLOCK_LENGTH;
+	private static final int LINE_BREAK_SCAN_LENGTH = 4096;
+
+	private long alphabetCharCount;
+	private final int blockLength;
+	private final AtomicLong bytesWritten;
+	private final boolean garbageIgnored;
+	private final FileChannel in;
+	private long inPosition;
+	private long inSize;
+	private final FileChannel out;
+	private long outPosition;
+	private final ForkJoinPool pool;
+	private final int segmentLength;
+	private List<Segment> segments;
+	private boolean sparse;
+
+	ParallelFileDecoder(
+			final FileChannel inChannel,
+			final FileChannel outChannel,
+			final boolean ignoreGarbage,
+			final ForkJoinPool p) {
+		this(
+				inChannel,
+				outChannel,
+				ignoreGarbage,
+				p,
+				DEFAULT_BLOCK_LENGTH,
+				DEFAULT_SEGMENT_LENGTH);
+	}
+
+	ParallelFileDecoder(
+			final FileChannel inChannel,
+			final FileChannel outChannel,
+			final boolean ignoreGarbage,
+			final ForkJoinPool p,
+			final int blockLen,
+			final int segmentLen) {
+		if (blockLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"block length must be positive: %s", blockLen));
+		}
+		if (segmentLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"segment length must be positive: %s", segmentLen));
+		}
+		this.alphabetCharCount = 0L;
+		this.blockLength = blockLen;
+		this.bytesWritten = new AtomicLong();
+		this.garbageIgnored = ignoreGarbage;
+		this.in = inChannel;
+		this.inPosition = 0L;
+		this.inSize = 0L;
+		this.out = outChannel;
+		this.outPosition = 0L;
+		this.pool = p;
+		this.segmentLength = segmentLen;
+		this.segments = null;
+		this.sparse = false;
+	}
+
+	private void count(final Segment segment) throws IOException {
+		ByteBuffer src = ByteBuffer.allocate(this.blockLength);
+		byte[] b = src.array();
+		for (long position = segment.start; position < segment.end;
+				position += src.position()) {
+			src.clear();
+			src.limit((int) Math.min(this.blockLength, segment.end - position));
+			this.read(src, position);
+			for (int i = 0; i < src.position(); i++) {
+				int c = b[i] & 0xff;
+				if (CafeBase64Decoder.isPaddingChar(c)) {
+					if (segment.firstPaddingCharIndex == -1L) {
+						segment.firstPaddingCharIndex =
+								segment.alphabetCharCount;
+					}
+					segment.alphabetCharCount++;
+				} else if (CafeBase64Decoder.isAlphabetChar(c)) {
+					segment.lastNonPaddingCharIndex =
+							segment.alphabetCharCount;
+					segment.alphabetCharCount++;
+				} else if (!this.garbageIgnored
+						&& CafeBase64Decoder.isGarbageChar(c)) {
+					throw CafeBase64Decoder.newNonAlphabetCharacterException(c);
+				}
+			}
+		}
+	}
+
+	CafeBase64Result decode() throws IOException {
+		this.inPosition = this.in.position();
+		this.inSize = Math.max(0L, this.in.size() - this.inPosition);
+		this.outPosition = this.out.position();
+		this.sparse = SparseFileWriter.isSparseWritable(this.out);
+		this.segments = this.newSegments();
+		try {
+			this.pool.invoke(new SegmentTask(0, this.segments.size(), true));
+			if (!this.hasOnlyTrailingPadding()) {
+				List<Segment> segmentList = new ArrayList<Segment>();
+				Segment segment = new Segment(0L, this.inSize);
+				segment.alphabetCharCount = this.alphabetCharCount;
+				segmentList.add(segment);
+				this.segments = segmentList;
+			}
+			this.pool.invoke(new SegmentTask(0, this.segments.size(), false));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			this.segments = null;
+		}
+		long length = this.bytesWritten.get();
+		if (this.sparse) {
+			SparseFileWriter.setLength(this.out, this.outPosition + length);
+		}
+		this.in.position(this.inPosition + this.inSize);
+		this.out.position(this.outPosition + length);
+		return new CafeBase64Result(this.inSize, length);
+	}
+
+	private void decode(final Segment segment) throws IOException {
+		long firstCharIndex = (segment.alphabetCharOffset + 3L) / 4L * 4L;
+		long endCharIndex =
+				segment.alphabetCharOffset + segment.alphabetCharCount;
+		if (firstCharIndex >= endCharIndex) {
+			return;
+		}
+		long lastCharIndex = Math.min(
+				(endCharIndex + 3L) / 4L * 4L, this.alphabetCharCount);
+		int skippedCharCount = (int) (
+				firstCharIndex - segment.alphabetCharOffset);
+		long borrowedCharCount = lastCharIndex - endCharIndex;
+		CafeBase64Decoder decoder = new CafeBase64Decoder(this.garbageIgnored);
+		ByteBuffer src = ByteBuffer.allocate(this.blockLength);
+		byte[] b = src.array();
+		byte[] dst = new byte[
+		        CafeBase64Decoder.maxDecodedLength(this.blockLength) + 2];
+		long dstPosition = this.outPosition + firstCharIndex / 4L * 3L;
+		long position = segment.start;
+		while (position < this.inSize) {
+			src.clear();
+			int n = this.read(src, position);
+			if (n == 0) {
+				break;
+			}
+			int from = 0;
+			int to = n;
+			while (skippedCharCount > 0 && from < to) {
+				if (CafeBase64Decoder.isAlphabetChar(b[from++] & 0xff)) {
+					skippedCharCount--;
+				}
+			}
+			if (position + n > segment.end) {
+				int i = (int) Math.max(from, segment.end - position);
+				while (borrowedCharCount > 0L && i < to) {
+					if (CafeBase64Decoder.isAlphabetChar(b[i++] & 0xff)) {
+						borrowedCharCount--;
+					}
+				}
+				to = i;
+			}
+			dstPosition += this.write(
+					dst, decoder.decode(b, from, to - from, dst, 0), dstPosition);
+			position += n;
+			if (position >= segment.end && borrowedCharCount == 0L) {
+				break;
+			}
+		}
+		if (lastCharIndex == this.alphabetCharCount) {
+			this.write(dst, decoder.finish(dst, 0), dstPosition);
+		}
+	}
+
+	private boolean hasOnlyTrailingPadding() {
+		long offset = 0L;
+		long firstPaddingCharIndex = -1L;
+		long lastNonPaddingCharIndex = -1L;
+		for (Segment segment : this.segments) {
+			segment.alphabetCharOffset = offset;
+			if (segment.firstPaddingCharIndex != -1L
+					&& firstPaddingCharIndex == -1L) {
+				firstPaddingCharIndex = offset + segment.firstPaddingCharIndex;
+			}
+			if (segment.lastNonPaddingCharIndex != -1L) {
+				lastNonPaddingCharIndex =
+						offset + segment.lastNonPaddingCharIndex;
+			}
+			offset += segment.alphabetCharCount;
+		}
+		this.alphabetCharCount = offset;
+		return firstPaddingCharIndex == -1L
+				|| firstPaddingCharIndex > lastNonPaddingCharIndex;
+	}
+
+	private List<Segment> newSegments() throws IOException {
+		List<Segment> segmentList = new ArrayList<Segment>();
+		ByteBuffer b = ByteBuffer.allocate(LINE_BREAK_SCAN_LENGTH);
+		long start = 0L;
+		while (start < this.inSize) {
+			long end = start + this.segmentLength;
+			if (end >= this.inSize) {
+				end = this.inSize;
+			} else {
+				b.clear();
+				int n = this.read(b, end);
+				for (int i = 0; i < n; i++) {
+					if (b.get(i) == '\n') {
+						end += i + 1;
+						break;
+					}
+				}
+				end = Math.min(end, this.inSize);
+			}
+			segmentList.add(new Segment(start, end));
+			start = end;
+		}
+		if (segmentList.isEmpty()) {
+			segmentList.add(new Segment(0L, 0L));
+		}
+		return segmentList;
+	}
+
+	private int read(final ByteBuffer b, final long position)
+			throws IOException {
+		while (b.hasRemaining()) {
+			if (this.in.read(b, this.inPosition + position + b.position())
+					== -1) {
+				break;
+			}
+		}
+		return b.position();
+	}
+
+	private int write(
+			final byte[] b,
+			final int length,
+			final long position) throws IOException {
+		ByteBuffer bb = ByteBuffer.wrap(b, 0, length);
+		if (this.sparse) {
+			SparseFileWriter.write(this.out, bb, position);
+		} else {
+			while (bb.hasRemaining()) {
+				this.out.write(bb, position + bb.position());
+			}
+		}
+		this.bytesWritten.addAndGet(length);
+		return length;
+	}
+
+}
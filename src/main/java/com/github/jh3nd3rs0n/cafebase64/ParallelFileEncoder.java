@@ -0,0 +1,149 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+final class ParallelFileEncoder {
+
+	private final class EncodingTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long from;
+		private final long to;
+
+		public EncodingTask(final long f, final long t) {
+			this.from = f;
+			this.to = t;
+		}
+
+		@Override
+		protected void compute() {
+			long length = this.to - this.from;
+			if (length <= ParallelFileEncoder.this.leafLength) {
+				try {
+					ParallelFileEncoder.this.encode(this.from, this.to);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return;
+			}
+			long mid = this.from + Math.max(3L, length / 2L / 3L * 3L);
+			invokeAll(
+					new EncodingTask(this.from, mid),
+					new EncodingTask(mid, this.to));
+		}
+
+	}
+
+	private static final int DEFAULT_BLOCK_LENGTH = 3 * 64 * 1024;
+	private static final int DEFAULT_LEAF_LENGTH = 4 * DEFAULT_BLOCK_LENGTH;
+
+	private final int blockLength;
+	private final int columnLimit;
+	private final FileChannel in;
+	private long inPosition;
+	private long inSize;
+	private final int leafLength;
+	private final int lineSeparatorLength;
+	private final FileChannel out;
+	private long outPosition;
+	private final ForkJoinPool pool;
+
+	ParallelFileEncoder(
+			final FileChannel inChannel,
+			final FileChannel outChannel,
+			final int colLimit,
+			final ForkJoinPool p) {
+		this(
+				inChannel,
+				outChannel,
+				colLimit,
+				p,
+				DEFAULT_BLOCK_LENGTH,
+				DEFAULT_LEAF_LENGTH);
+	}
+
+	ParallelFileEncoder(
+			final FileChannel inChannel,
+			final FileChannel outChannel,
+			final int colLimit,
+			final ForkJoinPool p,
+			final int blockLen,
+			final int leafLen) {
+		CafeBase64Encoder.checkColumnLimit(colLimit);
+		if (blockLen <= 0 || blockLen % 3 != 0) {
+			throw new IllegalArgumentException(String.format(
+					"block length must be a positive multiple of 3: %s",
+					blockLen));
+		}
+		if (leafLen < blockLen || leafLen % 3 != 0) {
+			throw new IllegalArgumentException(String.format(
+					"leaf length must be a multiple of 3 no less than %s: %s",
+					blockLen,
+					leafLen));
+		}
+		this.blockLength = blockLen;
+		this.columnLimit = colLimit;
+		this.in = inChannel;
+		this.inPosition = 0L;
+		this.inSize = 0L;
+		this.leafLength = leafLen;
+		this.lineSeparatorLength = CafeBase64Encoder.lineSeparatorLength();
+		this.out = outChannel;
+		this.outPosition = 0L;
+		this.pool = p;
+	}
+
+	CafeBase64Result encode() throws IOException {
+		this.inPosition = this.in.position();
+		this.inSize = Math.max(0L, this.in.size() - this.inPosition);
+		this.outPosition = this.out.position();
+		try {
+			this.pool.invoke(new EncodingTask(0L, this.inSize));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		long length = CafeBase64Encoder.encodedLength(
+				this.inSize, this.columnLimit, this.lineSeparatorLength);
+		this.in.position(this.inPosition + this.inSize);
+		this.out.position(this.outPosition + length);
+		return new CafeBase64Result(this.inSize, length);
+	}
+
+	private void encode(final long from, final long to) throws IOException {
+		CafeBase64Encoder encoder = new CafeBase64Encoder(
+				this.columnLimit, from);
+		ByteBuffer src = ByteBuffer.allocate(this.blockLength);
+		byte[] dst = new byte[encoder.maxEncodedLength(this.blockLength)];
+		long dstPosition = this.outPosition + CafeBase64Encoder.encodedOffset(
+				from, this.columnLimit, this.lineSeparatorLength);
+		for (long position = from; position < to;
+				position += this.blockLength) {
+			src.clear();
+			src.limit((int) Math.min(this.blockLength, to - position));
+			while (src.hasRemaining()) {
+				int n = this.in.read(
+						src, this.inPosition + position + src.position());
+				if (n == -1) {
+					throw new IOException("input changed size during conversion");
+				}
+			}
+			int dstLength = encoder.encode(
+					src.array(), 0, src.position(), dst, 0);
+			if (position + src.position() == this.inSize) {
+				dstLength += encoder.finish(dst, dstLength);
+			}
+			ByteBuffer b = ByteBuffer.wrap(dst, 0, dstLength);
+			while (b.hasRemaining()) {
+				this.out.write(b, dstPosition + b.position());
+			}
+			dstPosition += dstLength;
+		}
+	}
+
+}
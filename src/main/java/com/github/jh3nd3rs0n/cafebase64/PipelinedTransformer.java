@@ -0,0 +1,334 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+final class PipelinedTransformer {
+
+	private static final class Block {
+
+		private final byte[] dst;
+		private int dstLength;
+		private boolean last;
+		private final byte[] src;
+		private int srcLength;
+
+		public Block(final int srcLen, final int dstLen) {
+			this.dst = new byte[dstLen];
+			this.dstLength = 0;
+			this.last = false;
+			this.src = new byte[srcLen];
+			this.srcLength = 0;
+		}
+
+	}
+
+	private final class CodecStage implements Runnable {
+
+		@Override
+		public void run() {
+			CafeBase64Codec c = PipelinedTransformer.this.codec;
+			try {
+				Block block;
+				do {
+					block = PipelinedTransformer.this.take(
+							PipelinedTransformer.this.filledBlocks);
+					if (block == null) {
+						return;
+					}
+					if (block.last) {
+						block.dstLength = c.finish(block.dst, 0);
+					} else {
+						block.dstLength = c.transform(
+								block.src, 0, block.srcLength, block.dst, 0);
+					}
+					PipelinedTransformer.this.put(
+							PipelinedTransformer.this.convertedBlocks, block);
+				} while (!block.last);
+			} catch (Throwable t) {
+				PipelinedTransformer.this.fail(t);
+			}
+		}
+
+	}
+
+	private final class QueueBlocker implements ForkJoinPool.ManagedBlocker {
+
+		private int attempts;
+		private Block block;
+		private long parkNanos;
+		private final SpscRingQueue<Block> queue;
+
+		public QueueBlocker(final SpscRingQueue<Block> q) {
+			this.attempts = 0;
+			this.block = null;
+			this.parkNanos = 1L;
+			this.queue = q;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if (this.attempts < SPIN_COUNT) {
+				this.attempts++;
+			} else if (this.attempts < SPIN_COUNT + YIELD_COUNT) {
+				this.attempts++;
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(this.parkNanos);
+				this.parkNanos = Math.min(this.parkNanos << 1, MAX_PARK_NANOS);
+			}
+			return false;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			this.block = this.queue.poll();
+			return this.block != null
+					|| PipelinedTransformer.this.failure.get() != null;
+		}
+
+	}
+
+	private final class ReadBlocker implements ForkJoinPool.ManagedBlocker {
+
+		private final byte[] buffer;
+		private boolean done;
+		private IOException exception;
+		private int result;
+
+		public ReadBlocker(final byte[] b) {
+			this.buffer = b;
+			this.done = false;
+			this.exception = null;
+			this.result = 0;
+		}
+
+		@Override
+		public boolean block() {
+			try {
+				this.result = PipelinedTransformer.this.in.read(this.buffer);
+			} catch (IOException e) {
+				this.exception = e;
+			}
+			this.done = true;
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return this.done;
+		}
+
+	}
+
+	private final class ReaderStage implements Runnable {
+
+		@Override
+		public void run() {
+			try {
+				Block block;
+				do {
+					block = PipelinedTransformer.this.take(
+							PipelinedTransformer.this.freeBlocks);
+					if (block == null) {
+						return;
+					}
+					int n = PipelinedTransformer.this.read(block.src);
+					block.last = n == -1;
+					block.srcLength = Math.max(0, n);
+					PipelinedTransformer.this.put(
+							PipelinedTransformer.this.filledBlocks, block);
+				} while (!block.last);
+			} catch (Throwable t) {
+				PipelinedTransformer.this.fail(t);
+			}
+		}
+
+	}
+
+	private static final int DEFAULT_BLOCK_COUNT = 4;
+	private static final int MAX_BLOCK_COUNT = 1 << 16;
+	private static final long MAX_PARK_NANOS = 1000000L;
+	private static final int SPIN_COUNT = 100;
+	private static final int YIELD_COUNT = 10;
+
+	private static int queueCapacity(final int blockCount) {
+		int capacity = 1;
+		while (capacity < blockCount) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private final int blockCount;
+	private final int blockLength;
+	private final CafeBase64Codec codec;
+	private final SpscRingQueue<Block> convertedBlocks;
+	private final AtomicReference<Throwable> failure;
+	private final SpscRingQueue<Block> filledBlocks;
+	private final SpscRingQueue<Block> freeBlocks;
+	private final InputStream in;
+	private final OutputStream out;
+
+	PipelinedTransformer(
+			final InputStream inputStream,
+			final OutputStream outputStream,
+			final CafeBase64Codec c) {
+		this(
+				inputStream,
+				outputStream,
+				c,
+				BufferPolicy.blockLength(
+						BufferPolicy.Source.PIPE,
+						EngineSelector.UNKNOWN_LENGTH),
+				DEFAULT_BLOCK_COUNT);
+	}
+
+	PipelinedTransformer(
+			final InputStream inputStream,
+			final OutputStream outputStream,
+			final CafeBase64Codec c,
+			final int blockLen,
+			final int blockCnt) {
+		if (blockLen <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"block length must be positive: %s", blockLen));
+		}
+		if (blockCnt <= 0 || blockCnt > MAX_BLOCK_COUNT) {
+			throw new IllegalArgumentException(String.format(
+					"block count must be between 1 and %s: %s",
+					MAX_BLOCK_COUNT,
+					blockCnt));
+		}
+		int capacity = queueCapacity(blockCnt);
+		this.blockCount = blockCnt;
+		this.blockLength = blockLen;
+		this.codec = c;
+		this.convertedBlocks = new SpscRingQueue<Block>(capacity);
+		this.failure = new AtomicReference<Throwable>();
+		this.filledBlocks = new SpscRingQueue<Block>(capacity);
+		this.freeBlocks = new SpscRingQueue<Block>(capacity);
+		this.in = inputStream;
+		this.out = outputStream;
+	}
+
+	private void fail(final Throwable t) {
+		this.failure.compareAndSet(null, t);
+	}
+
+	private void put(final SpscRingQueue<Block> queue, final Block block) {
+		if (!queue.offer(block)) {
+			throw new AssertionError("block queue is full");
+		}
+	}
+
+	private int read(final byte[] b) throws IOException {
+		ReadBlocker blocker = new ReadBlocker(b);
+		try {
+			ForkJoinPool.managedBlock(blocker);
+		} catch (InterruptedException e) {
+			InterruptedIOException ex = new InterruptedIOException(
+					"interrupted while reading a block");
+			ex.initCause(e);
+			throw ex;
+		}
+		if (blocker.exception != null) {
+			throw blocker.exception;
+		}
+		return blocker.result;
+	}
+
+	private Block take(final SpscRingQueue<Block> queue)
+			throws InterruptedIOException {
+		QueueBlocker blocker = new QueueBlocker(queue);
+		try {
+			ForkJoinPool.managedBlock(blocker);
+		} catch (InterruptedException e) {
+			InterruptedIOException ex = new InterruptedIOException(
+					"interrupted while waiting for a block");
+			ex.initCause(e);
+			throw ex;
+		}
+		return blocker.block;
+	}
+
+	CafeBase64Result transform() throws IOException {
+		int dstLength = this.codec.maxOutputLength(this.blockLength);
+		for (int i = 0; i < this.blockCount; i++) {
+			this.put(this.freeBlocks, new Block(this.blockLength, dstLength));
+		}
+		ForkJoinPool pool = WorkerPool.get();
+		ForkJoinTask<?> readerTask = pool.submit(new ReaderStage());
+		ForkJoinTask<?> codecTask = pool.submit(new CodecStage());
+		try {
+			long bytesRead = 0L;
+			long bytesWritten = 0L;
+			Block block;
+			do {
+				block = this.take(this.convertedBlocks);
+				if (block == null) {
+					break;
+				}
+				this.out.write(block.dst, 0, block.dstLength);
+				bytesRead += block.srcLength;
+				bytesWritten += block.dstLength;
+				if (!block.last) {
+					this.put(this.freeBlocks, block);
+				}
+			} while (!block.last);
+			Throwable t = this.failure.get();
+			if (t == null) {
+				this.out.flush();
+				readerTask.get();
+				codecTask.get();
+				return new CafeBase64Result(bytesRead, bytesWritten);
+			}
+			if (t instanceof IOException) {
+				throw (IOException) t;
+			}
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			}
+			if (t instanceof Error) {
+				throw (Error) t;
+			}
+			throw new IOException(t);
+		} catch (ExecutionException e) {
+			IOException ex = new IOException(e.getCause());
+			this.fail(ex);
+			throw ex;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ex = new InterruptedIOException(
+					"interrupted while waiting for the pipeline to finish");
+			ex.initCause(e);
+			this.fail(ex);
+			throw ex;
+		} catch (IOException e) {
+			this.fail(e);
+			throw e;
+		} catch (RuntimeException e) {
+			this.fail(e);
+			throw e;
+		} catch (Error e) {
+			this.fail(e);
+			throw e;
+		} finally {
+			if (this.failure.get() != null) {
+				readerTask.cancel(true);
+				codecTask.cancel(true);
+			}
+		}
+	}
+
+}
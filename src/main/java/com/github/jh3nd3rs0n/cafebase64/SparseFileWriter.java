@@ -0,0 +1,96 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+final class SparseFileWriter {
+
+	public static final int BLOCK_LENGTH = 4096;
+
+	public static List<ByteBuffer> dataRuns(
+			final ByteBuffer src, final long position) {
+		List<ByteBuffer> runs = new ArrayList<ByteBuffer>();
+		int start = src.position();
+		int end = src.limit();
+		int runStart = start;
+		int i = start;
+		while (i < end) {
+			long offset = position + (i - start);
+			int blockEnd = (int) Math.min(
+					end, i + (BLOCK_LENGTH - offset % BLOCK_LENGTH));
+			if (blockEnd - i == BLOCK_LENGTH && isZero(src, i, blockEnd)) {
+				addRun(runs, src, runStart, i);
+				runStart = blockEnd;
+			}
+			i = blockEnd;
+		}
+		addRun(runs, src, runStart, end);
+		return runs;
+	}
+
+	public static boolean isSparseWritable(final FileChannel channel)
+			throws IOException {
+		return channel.size() <= channel.position();
+	}
+
+	private static void addRun(
+			final List<ByteBuffer> runs,
+			final ByteBuffer src,
+			final int from,
+			final int to) {
+		if (from == to) {
+			return;
+		}
+		ByteBuffer b = src.duplicate();
+		b.limit(to);
+		b.position(from);
+		runs.add(b);
+	}
+
+	private static boolean isZero(
+			final ByteBuffer src, final int from, final int to) {
+		int i = from;
+		for (; i + 8 <= to; i += 8) {
+			if (src.getLong(i) != 0L) {
+				return false;
+			}
+		}
+		for (; i < to; i++) {
+			if (src.get(i) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static void setLength(final FileChannel channel, final long length)
+			throws IOException {
+		if (channel.size() < length) {
+			ByteBuffer b = ByteBuffer.allocate(1);
+			while (b.hasRemaining()) {
+				channel.write(b, length - 1L);
+			}
+		}
+	}
+
+	public static void write(
+			final FileChannel channel,
+			final ByteBuffer src,
+			final long position) throws IOException {
+		int start = src.position();
+		for (ByteBuffer run : dataRuns(src, position)) {
+			long runPosition = position + (run.position() - start);
+			int from = run.position();
+			while (run.hasRemaining()) {
+				channel.write(run, runPosition + (run.position() - from));
+			}
+		}
+		src.position(src.limit());
+	}
+
+	private SparseFileWriter() { }
+
+}
@@ -0,0 +1,57 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class SpscRingQueue<E> {
+
+	private final Object[] elements;
+	private final AtomicLong head;
+	private final int mask;
+	private final AtomicLong tail;
+
+	SpscRingQueue(final int capacity) {
+		if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+			throw new IllegalArgumentException(String.format(
+					"capacity must be a positive power of 2: %s", capacity));
+		}
+		this.elements = new Object[capacity];
+		this.head = new AtomicLong();
+		this.mask = capacity - 1;
+		this.tail = new AtomicLong();
+	}
+
+	int capacity() {
+		return this.elements.length;
+	}
+
+	boolean offer(final E e) {
+		if (e == null) {
+			throw new NullPointerException("element must not be null");
+		}
+		long t = this.tail.get();
+		if (t - this.head.get() == this.elements.length) {
+			return false;
+		}
+		this.elements[(int) t & this.mask] = e;
+		this.tail.lazySet(t + 1L);
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	E poll() {
+		long h = this.head.get();
+		if (h == this.tail.get()) {
+			return null;
+		}
+		int index = (int) h & this.mask;
+		E e = (E) this.elements[index];
+		this.elements[index] = null;
+		this.head.lazySet(h + 1L);
+		return e;
+	}
+
+	int size() {
+		return (int) (this.tail.get() - this.head.get());
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+final class StandardStreams {
+	
+	public static final int STANDARD_INPUT = 0;
+	public static final int STANDARD_OUTPUT = 1;
+	
+	private static final int O_APPEND = 02000;
+	
+	public static boolean isAppending(final int fd) {
+		Path fdinfo = Paths.get("/proc/self/fdinfo", Integer.toString(fd));
+		if (!Files.isReadable(fdinfo)) {
+			return false;
+		}
+		try {
+			for (String line : Files.readAllLines(
+					fdinfo, StandardCharsets.US_ASCII)) {
+				if (line.startsWith("flags:")) {
+					int flags = Integer.parseInt(
+							line.substring("flags:".length()).trim(), 8);
+					return (flags & O_APPEND) != 0;
+				}
+			}
+		} catch (IOException e) {
+			return true;
+		} catch (NumberFormatException e) {
+			return true;
+		}
+		return false;
+	}
+	
+	public static boolean isRegularFile(final int fd) {
+		for (String dir : new String[] { "/proc/self/fd", "/dev/fd" }) {
+			Path path = Paths.get(dir, Integer.toString(fd));
+			if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+				return Files.isRegularFile(path);
+			}
+		}
+		return false;
+	}
+	
+	public static FileInputStream newInputStream() {
+		return new FileInputStream(FileDescriptor.in);
+	}
+	
+	public static FileChannel newOutputChannel() {
+		return new FileOutputStream(FileDescriptor.out).getChannel();
+	}
+	
+	private StandardStreams() { }
+	
+}
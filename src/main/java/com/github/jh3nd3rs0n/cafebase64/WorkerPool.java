@@ -0,0 +1,65 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+final class WorkerPool {
+
+	private static final class DaemonWorkerThreadFactory
+		implements ForkJoinWorkerThreadFactory {
+
+		@Override
+		public ForkJoinWorkerThread newThread(final ForkJoinPool p) {
+			ForkJoinWorkerThread thread =
+					ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(
+							p);
+			thread.setDaemon(true);
+			thread.setName(String.format(
+					"cafebase64-worker-%s", thread.getPoolIndex()));
+			return thread;
+		}
+
+	}
+
+	private static final Object LOCK = new Object();
+
+	private static ForkJoinPool pool = null;
+	private static int size = Runtime.getRuntime().availableProcessors();
+
+	public static ForkJoinPool get() {
+		synchronized (LOCK) {
+			if (pool == null) {
+				pool = new ForkJoinPool(
+						size, new DaemonWorkerThreadFactory(), null, false);
+			}
+			return pool;
+		}
+	}
+
+	public static int getSize() {
+		synchronized (LOCK) {
+			return size;
+		}
+	}
+
+	public static void setSize(final int threadCount) {
+		if (threadCount <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"thread count must be positive: %s", threadCount));
+		}
+		synchronized (LOCK) {
+			if (threadCount == size) {
+				return;
+			}
+			if (pool != null) {
+				pool.shutdown();
+			}
+			pool = null;
+			size = threadCount;
+		}
+	}
+
+	private WorkerPool() { }
+
+}
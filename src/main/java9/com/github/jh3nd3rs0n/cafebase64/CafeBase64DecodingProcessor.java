@@ -0,0 +1,30 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public final class CafeBase64DecodingProcessor extends CafeBase64Processor {
+	
+	private final CafeBase64Decoder decoder;
+	
+	public CafeBase64DecodingProcessor(final boolean garbageIgnored) {
+		this.decoder = new CafeBase64Decoder(garbageIgnored);
+	}
+	
+	@Override
+	ByteBuffer finish() throws IOException {
+		byte[] b = new byte[2];
+		return ByteBuffer.wrap(b, 0, this.decoder.finish(b, 0));
+	}
+	
+	@Override
+	ByteBuffer transform(
+			final byte[] src, 
+			final int offset, 
+			final int length) throws IOException {
+		byte[] b = new byte[CafeBase64Decoder.maxDecodedLength(length)];
+		return ByteBuffer.wrap(
+				b, 0, this.decoder.decode(src, offset, length, b, 0));
+	}
+	
+}
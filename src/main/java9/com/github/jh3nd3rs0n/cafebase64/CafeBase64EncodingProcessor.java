@@ -0,0 +1,27 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.nio.ByteBuffer;
+
+public final class CafeBase64EncodingProcessor extends CafeBase64Processor {
+	
+	private final CafeBase64Encoder encoder;
+	
+	public CafeBase64EncodingProcessor(final int columnLimit) {
+		this.encoder = new CafeBase64Encoder(columnLimit);
+	}
+	
+	@Override
+	ByteBuffer finish() {
+		byte[] b = new byte[this.encoder.maxEncodedLength(0)];
+		return ByteBuffer.wrap(b, 0, this.encoder.finish(b, 0));
+	}
+	
+	@Override
+	ByteBuffer transform(
+			final byte[] src, final int offset, final int length) {
+		byte[] b = new byte[this.encoder.maxEncodedLength(length)];
+		return ByteBuffer.wrap(
+				b, 0, this.encoder.encode(src, offset, length, b, 0));
+	}
+	
+}
@@ -0,0 +1,259 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+abstract class CafeBase64Processor 
+	implements Flow.Processor<ByteBuffer, ByteBuffer> {
+	
+	private final class DownstreamSubscription implements Flow.Subscription {
+
+		@Override
+		public void cancel() {
+			CafeBase64Processor.this.cancel();
+		}
+
+		@Override
+		public void request(final long n) {
+			CafeBase64Processor.this.request(n);
+		}
+		
+	}
+	
+	private static final class NoopSubscription implements Flow.Subscription {
+		
+		@Override
+		public void cancel() { }
+		
+		@Override
+		public void request(final long n) { }
+		
+	}
+	
+	private volatile boolean cancelled;
+	private volatile boolean done;
+	private final AtomicReference<Flow.Subscriber<? super ByteBuffer>> downstream;
+	private volatile Throwable error;
+	private boolean finished;
+	private boolean requestedFromUpstream;
+	private final Queue<ByteBuffer> queue;
+	private final AtomicLong requested;
+	private ByteBuffer tail;
+	private volatile Flow.Subscription upstream;
+	private final AtomicInteger wip;
+	
+	CafeBase64Processor() {
+		this.cancelled = false;
+		this.done = false;
+		this.downstream = new AtomicReference<>();
+		this.error = null;
+		this.finished = false;
+		this.requestedFromUpstream = false;
+		this.queue = new ConcurrentLinkedQueue<>();
+		this.requested = new AtomicLong();
+		this.tail = null;
+		this.upstream = null;
+		this.wip = new AtomicInteger();
+	}
+	
+	private void cancel() {
+		if (this.cancelled) {
+			return;
+		}
+		this.cancelled = true;
+		Flow.Subscription subscription = this.upstream;
+		if (subscription != null) {
+			subscription.cancel();
+		}
+		this.drain();
+	}
+	
+	private void drain() {
+		if (this.wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		while (true) {
+			if (this.drainOnce()) {
+				return;
+			}
+			missed = this.wip.addAndGet(-missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+	
+	private boolean drainOnce() {
+		Flow.Subscriber<? super ByteBuffer> subscriber = this.downstream.get();
+		if (this.cancelled) {
+			this.queue.clear();
+			return true;
+		}
+		if (subscriber == null) {
+			return false;
+		}
+		Throwable t = this.error;
+		if (t != null) {
+			this.fail(subscriber, t);
+			return true;
+		}
+		long r = this.requested.get();
+		long e = 0L;
+		while (e != r) {
+			ByteBuffer in = this.queue.poll();
+			if (in == null) {
+				break;
+			}
+			this.requestedFromUpstream = false;
+			ByteBuffer out;
+			try {
+				out = this.transform(in);
+			} catch (IOException ex) {
+				this.fail(subscriber, ex);
+				return true;
+			}
+			if (out.hasRemaining()) {
+				subscriber.onNext(out);
+				e++;
+			}
+		}
+		if (e != 0L && r != Long.MAX_VALUE) {
+			r = this.requested.addAndGet(-e);
+		}
+		if (this.done && this.queue.isEmpty()) {
+			if (!this.finished) {
+				try {
+					this.tail = this.finish();
+				} catch (IOException ex) {
+					this.fail(subscriber, ex);
+					return true;
+				}
+				this.finished = true;
+			}
+			if (this.tail.hasRemaining()) {
+				if (r == 0L) {
+					return false;
+				}
+				subscriber.onNext(this.tail);
+				this.tail = ByteBuffer.allocate(0);
+			}
+			this.cancelled = true;
+			subscriber.onComplete();
+			return true;
+		}
+		Flow.Subscription subscription = this.upstream;
+		if (r > 0L && !this.requestedFromUpstream && subscription != null) {
+			this.requestedFromUpstream = true;
+			subscription.request(1L);
+		}
+		return false;
+	}
+	
+	private void fail(
+			final Flow.Subscriber<? super ByteBuffer> subscriber, 
+			final Throwable t) {
+		this.cancelled = true;
+		this.queue.clear();
+		Flow.Subscription subscription = this.upstream;
+		if (subscription != null) {
+			subscription.cancel();
+		}
+		subscriber.onError(t);
+	}
+	
+	abstract ByteBuffer finish() throws IOException;
+	
+	@Override
+	public final void onComplete() {
+		this.done = true;
+		this.drain();
+	}
+	
+	@Override
+	public final void onError(final Throwable throwable) {
+		this.error = Objects.requireNonNull(throwable);
+		this.done = true;
+		this.drain();
+	}
+	
+	@Override
+	public final void onNext(final ByteBuffer item) {
+		this.queue.offer(Objects.requireNonNull(item));
+		this.drain();
+	}
+	
+	@Override
+	public final void onSubscribe(final Flow.Subscription subscription) {
+		Objects.requireNonNull(subscription);
+		if (this.upstream != null) {
+			subscription.cancel();
+			return;
+		}
+		this.upstream = subscription;
+		if (this.cancelled) {
+			subscription.cancel();
+			return;
+		}
+		this.drain();
+	}
+	
+	private void request(final long n) {
+		if (n <= 0L) {
+			this.onError(new IllegalArgumentException(String.format(
+					"non-positive request: %s", n)));
+			return;
+		}
+		while (true) {
+			long r = this.requested.get();
+			long u = r + n;
+			if (u < 0L) {
+				u = Long.MAX_VALUE;
+			}
+			if (this.requested.compareAndSet(r, u)) {
+				break;
+			}
+		}
+		this.drain();
+	}
+	
+	@Override
+	public final void subscribe(
+			final Flow.Subscriber<? super ByteBuffer> subscriber) {
+		Objects.requireNonNull(subscriber);
+		if (!this.downstream.compareAndSet(null, subscriber)) {
+			subscriber.onSubscribe(new NoopSubscription());
+			subscriber.onError(new IllegalStateException(String.format(
+					"%s supports only one subscriber", this)));
+			return;
+		}
+		subscriber.onSubscribe(new DownstreamSubscription());
+		this.drain();
+	}
+	
+	private ByteBuffer transform(final ByteBuffer in) throws IOException {
+		if (in.hasArray()) {
+			return this.transform(
+					in.array(), in.arrayOffset() + in.position(), in.remaining());
+		}
+		byte[] b = new byte[in.remaining()];
+		in.duplicate().get(b);
+		return this.transform(b, 0, b.length);
+	}
+	
+	abstract ByteBuffer transform(
+			byte[] src, int offset, int length) throws IOException;
+	
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName();
+	}
+	
+}
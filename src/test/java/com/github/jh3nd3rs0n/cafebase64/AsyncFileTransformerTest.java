@@ -0,0 +1,87 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class AsyncFileTransformerTest {
+
+	private static void testRoundtripping(
+			final int length, 
+			final int columnLimit, 
+			final int chunkLength) throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(length);
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.encode(
+				new ByteArrayInputStream(original), encodedOut, columnLimit);
+		AsyncFileTransformer transformer = new AsyncFileTransformer(
+				chunkLength, 3);
+		Path originalFile = Files.createTempFile("cafebase64", ".bin");
+		Path encodedFile = Files.createTempFile("cafebase64", ".b64");
+		Path decodedFile = Files.createTempFile("cafebase64", ".bin");
+		try {
+			Files.write(originalFile, original);
+			CafeBase64Result encodeResult = transformer.encode(
+					originalFile, encodedFile, columnLimit);
+			assertArrayEquals(
+					encodedOut.toByteArray(), Files.readAllBytes(encodedFile));
+			assertEquals(length, encodeResult.getBytesRead());
+			assertEquals(encodedOut.size(), encodeResult.getBytesWritten());
+			CafeBase64Result decodeResult = transformer.decode(
+					encodedFile, decodedFile, false);
+			assertArrayEquals(original, Files.readAllBytes(decodedFile));
+			assertEquals(encodedOut.size(), decodeResult.getBytesRead());
+			assertEquals(length, decodeResult.getBytesWritten());
+		} finally {
+			Files.delete(originalFile);
+			Files.delete(encodedFile);
+			Files.delete(decodedFile);
+		}
+	}
+	
+	@Test
+	public void testDecode01() throws IOException {
+		byte[] original = new byte[10 * SparseFileWriter.BLOCK_LENGTH];
+		original[SparseFileWriter.BLOCK_LENGTH + 1] = 1;
+		Path encodedFile = Files.createTempFile("cafebase64", ".b64");
+		Path decodedFile = Files.createTempFile("cafebase64", ".bin");
+		try {
+			Files.write(encodedFile, CafeBase64.INSTANCE.encode(original, 76));
+			CafeBase64Result result = new AsyncFileTransformer(
+					3 * 1024, 3).decode(encodedFile, decodedFile, false);
+			assertEquals(original.length, result.getBytesWritten());
+			assertArrayEquals(original, Files.readAllBytes(decodedFile));
+		} finally {
+			Files.delete(encodedFile);
+			Files.delete(decodedFile);
+		}
+	}
+	
+	@Test
+	public void testWithRoundtripping01() throws IOException {
+		testRoundtripping(0, 76, 3 * 7);
+	}
+	
+	@Test
+	public void testWithRoundtripping02() throws IOException {
+		testRoundtripping(1000, 0, 3 * 7);
+	}
+	
+	@Test
+	public void testWithRoundtripping03() throws IOException {
+		testRoundtripping(1001, 5, 3 * 7);
+	}
+	
+	@Test
+	public void testWithRoundtripping04() throws IOException {
+		testRoundtripping(1024 * 1024 + 2, 76, 3 * 16 * 1024);
+	}
+	
+}
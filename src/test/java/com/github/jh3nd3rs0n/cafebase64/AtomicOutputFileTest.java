@@ -0,0 +1,145 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+public class AtomicOutputFileTest {
+
+	@Test
+	public void testClose01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(file, "former content".getBytes());
+			Path temporaryPath;
+			try (AtomicOutputFile outputFile = new AtomicOutputFile(file)) {
+				temporaryPath = outputFile.getTemporaryPath();
+				assertTrue(Files.exists(temporaryPath));
+				assertEquals(file.getParent(), temporaryPath.getParent());
+				outputFile.getChannel().write(ByteBuffer.wrap(new byte[10]));
+			}
+			assertFalse(Files.exists(temporaryPath));
+			assertArrayEquals(
+					"former content".getBytes(), Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testCommit01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(file, "former content".getBytes());
+			Path temporaryPath;
+			try (AtomicOutputFile outputFile = new AtomicOutputFile(file)) {
+				temporaryPath = outputFile.getTemporaryPath();
+				outputFile.getChannel().write(
+						ByteBuffer.wrap("new".getBytes()));
+				outputFile.commit(3L);
+			}
+			assertFalse(Files.exists(temporaryPath));
+			assertArrayEquals("new".getBytes(), Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testCommit02() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			if (Files.getFileAttributeView(
+					file, PosixFileAttributeView.class) == null) {
+				return;
+			}
+			Set<PosixFilePermission> permissions = 
+					PosixFilePermissions.fromString("rw-r-----");
+			Files.setPosixFilePermissions(file, permissions);
+			try (AtomicOutputFile outputFile = new AtomicOutputFile(file)) {
+				outputFile.getChannel().write(
+						ByteBuffer.wrap("new".getBytes()));
+				outputFile.commit(3L);
+			}
+			assertEquals(permissions, Files.getPosixFilePermissions(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testCommit03() 
+			throws ExecutionException, InterruptedException, IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(file, "former content".getBytes());
+			try (AtomicOutputFile outputFile = new AtomicOutputFile(file)) {
+				outputFile.getChannel().write(
+						ByteBuffer.wrap("old".getBytes()));
+				AsynchronousFileChannel channel = 
+						outputFile.getAsynchronousChannel();
+				assertSame(channel, outputFile.getAsynchronousChannel());
+				assertFalse(outputFile.getChannel().isOpen());
+				channel.write(ByteBuffer.wrap("new".getBytes()), 0L).get();
+				outputFile.commit(3L);
+				assertFalse(channel.isOpen());
+			}
+			assertArrayEquals("new".getBytes(), Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testRetain01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Path temporaryPath;
+			try (AtomicOutputFile outputFile = new AtomicOutputFile(file)) {
+				temporaryPath = outputFile.getTemporaryPath();
+				outputFile.retain();
+				outputFile.getChannel().write(
+						ByteBuffer.wrap("partial".getBytes()));
+			}
+			assertTrue(Files.exists(temporaryPath));
+			try (AtomicOutputFile outputFile = new AtomicOutputFile(
+					file, temporaryPath)) {
+				outputFile.getChannel().position(7L);
+				outputFile.getChannel().write(
+						ByteBuffer.wrap(" content".getBytes()));
+				outputFile.commit(15L);
+			}
+			assertFalse(Files.exists(temporaryPath));
+			assertArrayEquals(
+					"partial content".getBytes(), Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test(expected = IOException.class)
+	public void testAtomicOutputFileWithDirectory01() throws IOException {
+		Path dir = Files.createTempDirectory("cafebase64");
+		try {
+			new AtomicOutputFile(dir).close();
+		} finally {
+			Files.delete(dir);
+		}
+	}
+	
+}
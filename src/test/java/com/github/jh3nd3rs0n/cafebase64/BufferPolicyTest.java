@@ -0,0 +1,73 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BufferPolicyTest {
+
+	@Test
+	public void testBlockLength01() {
+		assertEquals(64 * 1024, BufferPolicy.blockLength(
+				BufferPolicy.Source.PIPE, EngineSelector.UNKNOWN_LENGTH));
+	}
+	
+	@Test
+	public void testBlockLength02() {
+		assertEquals(1024 * 1024, BufferPolicy.blockLength(
+				BufferPolicy.Source.REGULAR_FILE, 
+				EngineSelector.UNKNOWN_LENGTH));
+		assertEquals(1024 * 1024, BufferPolicy.blockLength(
+				BufferPolicy.Source.REGULAR_FILE, 100L * 1024L * 1024L));
+		assertEquals(100000, BufferPolicy.blockLength(
+				BufferPolicy.Source.REGULAR_FILE, 100000L));
+		assertEquals(4096, BufferPolicy.blockLength(
+				BufferPolicy.Source.REGULAR_FILE, 10L));
+	}
+	
+	@Test
+	public void testBlockLength03() {
+		int blockLength = BufferPolicy.blockLength(
+				BufferPolicy.Source.MAPPED_FILE, 
+				EngineSelector.UNKNOWN_LENGTH);
+		assertTrue(blockLength >= 4096);
+		assertTrue(blockLength <= BufferPolicy.getCacheSize());
+	}
+	
+	@Test
+	public void testBlockLength04() {
+		try {
+			BufferPolicy.setBufferSize(12345);
+			assertEquals(12345, BufferPolicy.blockLength(
+					BufferPolicy.Source.PIPE, EngineSelector.UNKNOWN_LENGTH));
+			assertEquals(12345, BufferPolicy.blockLength(
+					BufferPolicy.Source.REGULAR_FILE, 100000L));
+			assertEquals(10, BufferPolicy.blockLength(
+					BufferPolicy.Source.REGULAR_FILE, 10L));
+			assertEquals(1, BufferPolicy.blockLength(
+					BufferPolicy.Source.REGULAR_FILE, 0L));
+		} finally {
+			BufferPolicy.setBufferSize(0);
+		}
+		assertEquals(0, BufferPolicy.getBufferSize());
+	}
+	
+	@Test
+	public void testParseCacheSize01() {
+		assertEquals(2048 * 1024, BufferPolicy.parseCacheSize("2048K\n"));
+		assertEquals(8 * 1024 * 1024, BufferPolicy.parseCacheSize("8M"));
+		assertEquals(512, BufferPolicy.parseCacheSize("512"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetBufferSizeForIllegalArgumentException01() {
+		BufferPolicy.setBufferSize(-1);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetBufferSizeForIllegalArgumentException02() {
+		BufferPolicy.setBufferSize(BufferPolicy.MAX_BUFFER_SIZE + 1);
+	}
+	
+}
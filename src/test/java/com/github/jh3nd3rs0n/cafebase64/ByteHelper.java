@@ -0,0 +1,26 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+public final class ByteHelper {
+	
+	public static byte[] encode(final byte[] b, final int columnLimit) 
+			throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.encode(
+				new ByteArrayInputStream(b), out, columnLimit);
+		return out.toByteArray();
+	}
+	
+	public static byte[] newRandomBytes(final int length) {
+		byte[] b = new byte[length];
+		new Random(length).nextBytes(b);
+		return b;
+	}
+
+	private ByteHelper() { }
+	
+}
@@ -1,6 +1,7 @@
 package com.github.jh3nd3rs0n.cafebase64;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
@@ -8,6 +9,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.junit.Test;
 
@@ -89,6 +94,114 @@ public class CafeBase64CLITest {
 		assertTrue(status != 0);
 	}
 	
+	@Test
+	public void testWithBufferSizeOption01() throws IOException {
+		String expectedString = TestStringConstants.ENCODED_STRING_02 
+				+ System.getProperty("line.separator");
+		String originalString = TestStringConstants.ORIGINAL_STRING_02;
+		InputStream in = new ByteArrayInputStream(originalString.getBytes());
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(encodedOut);
+		int formerBufferSize = BufferPolicy.getBufferSizeOverride();
+		int status = handle(
+				new String[] { "--buffer-size=1K" }, null, in, out);
+		assertEquals(formerBufferSize, BufferPolicy.getBufferSizeOverride());
+		String encodedString = new String(encodedOut.toByteArray());
+		assertEquals(0, status);
+		assertEquals(expectedString, encodedString);
+	}
+	
+	@Test
+	public void testWithBufferSizeOption02() throws IOException {
+		PrintStream err = new PrintStream(new ByteArrayOutputStream());
+		InputStream in = new ByteArrayInputStream(new byte[] { });
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		int status = handle(new String[] { "--buffer-size=0" }, err, in, out);
+		assertTrue(status != 0);
+	}
+	
+	@Test
+	public void testWithBufferSizeOption03() throws IOException {
+		PrintStream err = new PrintStream(new ByteArrayOutputStream());
+		InputStream in = new ByteArrayInputStream(new byte[] { });
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		int status = handle(
+				new String[] { "--buffer-size=2000M" }, err, in, out);
+		assertTrue(status != 0);
+	}
+	
+	@Test
+	public void testWithBufferSizeOption04() throws IOException {
+		InputStream in = new ByteArrayInputStream(new byte[] { });
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		System.setProperty(BufferPolicy.BUFFER_SIZE_PROPERTY, "2048");
+		try {
+			int status = handle(
+					new String[] { "--buffer-size=1K" }, null, in, out);
+			assertEquals(0, status);
+			assertEquals(0, BufferPolicy.getBufferSizeOverride());
+			assertEquals(2048, BufferPolicy.getBufferSize());
+		} finally {
+			System.clearProperty(BufferPolicy.BUFFER_SIZE_PROPERTY);
+		}
+	}
+	
+	@Test
+	public void testWithCheckpointOption01() throws IOException {
+		Path dir = Files.createTempDirectory("cafebase64");
+		Path file = dir.resolve("original.txt");
+		Path outputFile = dir.resolve("encoded.b64");
+		Path checkpointFile = dir.resolve("encoded.ckpt");
+		try {
+			Files.write(
+					file, TestStringConstants.ORIGINAL_STRING_02.getBytes());
+			int status = handle(
+					new String[] { 
+							"--checkpoint=" + checkpointFile, 
+							"--resume", 
+							"-o", 
+							outputFile.toString(), 
+							file.toString() }, 
+					null, 
+					null, 
+					null);
+			assertEquals(0, status);
+			assertEquals(
+					TestStringConstants.ENCODED_STRING_02 
+					+ System.getProperty("line.separator"), 
+					new String(Files.readAllBytes(outputFile)));
+			assertEquals(2L, Files.list(dir).count());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(outputFile);
+			Files.deleteIfExists(checkpointFile);
+			Files.delete(dir);
+		}
+	}
+	
+	@Test
+	public void testWithCheckpointOption02() throws IOException {
+		Path checkpointFile = Files.createTempFile("cafebase64", ".ckpt");
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			PrintStream err = new PrintStream(new ByteArrayOutputStream());
+			int status = handle(
+					new String[] { 
+							"--checkpoint=" + checkpointFile, 
+							"-o", 
+							file + ".b64", 
+							file.toString() }, 
+					err, 
+					null, 
+					null);
+			assertTrue(status != 0);
+			assertFalse(Files.exists(Paths.get(file + ".b64")));
+		} finally {
+			Files.delete(checkpointFile);
+			Files.delete(file);
+		}
+	}
+	
 	@Test
 	public void testWithDecodeOption01() throws IOException {
 		String expectedString = TestStringConstants.ORIGINAL_STRING_01;
@@ -203,6 +316,121 @@ public class CafeBase64CLITest {
 		assertTrue(status != 0);		
 	}
 	
+	@Test
+	public void testWithFiles01() throws IOException {
+		String lineSeparator = System.getProperty("line.separator");
+		String expectedString = TestStringConstants.ENCODED_STRING_01 
+				+ lineSeparator 
+				+ TestStringConstants.ENCODED_STRING_02 
+				+ lineSeparator 
+				+ TestStringConstants.ENCODED_STRING_03 
+				+ lineSeparator;
+		Path file1 = Files.createTempFile("cafebase64", ".txt");
+		Path file3 = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(
+					file1, TestStringConstants.ORIGINAL_STRING_01.getBytes());
+			Files.write(
+					file3, TestStringConstants.ORIGINAL_STRING_03.getBytes());
+			InputStream in = new ByteArrayInputStream(
+					TestStringConstants.ORIGINAL_STRING_02.getBytes());
+			ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+			PrintStream out = new PrintStream(encodedOut);
+			int status = handle(
+					new String[] { 
+							file1.toString(), "-", file3.toString() }, 
+					null, 
+					in, 
+					out);
+			String encodedString = new String(encodedOut.toByteArray());
+			assertEquals(0, status);
+			assertEquals(expectedString, encodedString);
+		} finally {
+			Files.delete(file1);
+			Files.delete(file3);
+		}
+	}
+	
+	@Test
+	public void testWithFiles02() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(
+					file, TestStringConstants.ORIGINAL_STRING_01.getBytes());
+			PrintStream err = new PrintStream(new ByteArrayOutputStream());
+			InputStream in = new ByteArrayInputStream(new byte[] { });
+			ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+			PrintStream out = new PrintStream(encodedOut);
+			int status = handle(
+					new String[] { 
+							"/nonexistent/cafebase64.txt", file.toString() }, 
+					err, 
+					in, 
+					out);
+			String encodedString = new String(encodedOut.toByteArray());
+			assertTrue(status != 0);
+			assertEquals(
+					TestStringConstants.ENCODED_STRING_01 
+					+ System.getProperty("line.separator"), 
+					encodedString);
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testWithFilesFromOption01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		Path encodedFile = Paths.get(file + ".b64");
+		try {
+			Files.write(
+					file, TestStringConstants.ORIGINAL_STRING_02.getBytes());
+			InputStream in = new ByteArrayInputStream(
+					String.format("%s%n", file).getBytes());
+			int status = handle(new String[] { "-T", "-" }, null, in, null);
+			assertEquals(0, status);
+			assertEquals(
+					TestStringConstants.ENCODED_STRING_02 
+					+ System.getProperty("line.separator"), 
+					new String(Files.readAllBytes(encodedFile)));
+		} finally {
+			Files.delete(file);
+			Files.deleteIfExists(encodedFile);
+		}
+	}
+	
+	@Test
+	public void testWithFlushOption01() throws IOException {
+		String expectedString = TestStringConstants.ENCODED_STRING_02 
+				+ System.getProperty("line.separator");
+		String originalString = TestStringConstants.ORIGINAL_STRING_02;
+		InputStream in = new ByteArrayInputStream(originalString.getBytes());
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(encodedOut);
+		int status = handle(new String[] { "--flush=line" }, null, in, out);
+		String encodedString = new String(encodedOut.toByteArray());
+		assertEquals(0, status);
+		assertEquals(expectedString, encodedString);
+	}
+	
+	@Test
+	public void testWithFlushOption02() throws IOException {
+		PrintStream err = new PrintStream(new ByteArrayOutputStream());
+		InputStream in = new ByteArrayInputStream(new byte[] { });
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		int status = handle(new String[] { "--flush=never" }, err, in, out);
+		assertTrue(status != 0);
+	}
+	
+	@Test
+	public void testWithFollowOption01() throws IOException {
+		PrintStream err = new PrintStream(new ByteArrayOutputStream());
+		InputStream in = new ByteArrayInputStream(new byte[] { });
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		int status = handle(new String[] { "--follow" }, err, in, out);
+		assertTrue(status != 0);
+	}
+	
 	@Test
 	public void testWithHelpOption() throws IOException {
 		String expectedString = TestStringConstants.HELP_INFO_STRING;
@@ -243,6 +471,106 @@ public class CafeBase64CLITest {
 		assertEquals(expectedString, actualString);
 	}
 	
+	@Test
+	public void testWithOutputOption01() throws IOException {
+		Path dir = Files.createTempDirectory("cafebase64");
+		Path file = dir.resolve("original.txt");
+		Path outputFile = dir.resolve("encoded.b64");
+		try {
+			Files.write(
+					file, TestStringConstants.ORIGINAL_STRING_02.getBytes());
+			int status = handle(
+					new String[] { "-o", outputFile.toString(), file.toString() }, 
+					null, 
+					null, 
+					null);
+			assertEquals(0, status);
+			assertEquals(
+					TestStringConstants.ENCODED_STRING_02 
+					+ System.getProperty("line.separator"), 
+					new String(Files.readAllBytes(outputFile)));
+			assertEquals(2L, Files.list(dir).count());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(outputFile);
+			Files.delete(dir);
+		}
+	}
+	
+	@Test
+	public void testWithOutputOption02() throws IOException {
+		Path outputFile = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(outputFile, "stale content".getBytes());
+			InputStream in = new ByteArrayInputStream(
+					TestStringConstants.ENCODED_STRING_02.getBytes());
+			int status = handle(
+					new String[] { "-d", "--output=" + outputFile }, 
+					null, 
+					in, 
+					null);
+			assertEquals(0, status);
+			assertEquals(
+					TestStringConstants.ORIGINAL_STRING_02, 
+					new String(Files.readAllBytes(outputFile)));
+		} finally {
+			Files.delete(outputFile);
+		}
+	}
+	
+	@Test
+	public void testWithOutputOptionWithGarbage01() throws IOException {
+		Path outputFile = Files.createTempFile("cafebase64", ".txt");
+		try {
+			Files.write(outputFile, "former content".getBytes());
+			InputStream in = new ByteArrayInputStream(
+					TestStringConstants.ENCODED_STRING_02_WITH_GARBAGE.getBytes());
+			ByteArrayOutputStream bytesErr = new ByteArrayOutputStream();
+			int status = handle(
+					new String[] { "-d", "-o", outputFile.toString() }, 
+					new PrintStream(bytesErr), 
+					in, 
+					null);
+			assertEquals(-1, status);
+			assertEquals(
+					"former content", 
+					new String(Files.readAllBytes(outputFile)));
+			try (DirectoryStream<Path> temporaryFiles = 
+					Files.newDirectoryStream(
+							outputFile.getParent(), 
+							"." + outputFile.getFileName() + ".*")) {
+				assertFalse(temporaryFiles.iterator().hasNext());
+			}
+		} finally {
+			Files.delete(outputFile);
+		}
+	}
+	
+	@Test
+	public void testWithThreadsOption01() throws IOException {
+		String expectedString = TestStringConstants.ENCODED_STRING_02 
+				+ System.getProperty("line.separator");
+		String originalString = TestStringConstants.ORIGINAL_STRING_02;
+		InputStream in = new ByteArrayInputStream(originalString.getBytes());
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(encodedOut);
+		int formerThreadCount = WorkerPool.getSize();
+		int status = handle(new String[] { "-j", "2" }, null, in, out);
+		assertEquals(formerThreadCount, WorkerPool.getSize());
+		String encodedString = new String(encodedOut.toByteArray());
+		assertEquals(0, status);
+		assertEquals(expectedString, encodedString);
+	}
+	
+	@Test
+	public void testWithThreadsOption02() throws IOException {
+		PrintStream err = new PrintStream(new ByteArrayOutputStream());
+		InputStream in = new ByteArrayInputStream(new byte[] { });
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		int status = handle(new String[] { "--threads=0" }, err, in, out);
+		assertTrue(status != 0);
+	}
+	
 	@Test
 	public void testWithVersionOption() throws IOException {
 		String expectedString = TestStringConstants.VERSION_INFO_STRING;
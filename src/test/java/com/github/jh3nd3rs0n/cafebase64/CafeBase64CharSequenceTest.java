@@ -0,0 +1,96 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class CafeBase64CharSequenceTest {
+
+	@Test
+	public void testCharAt01() {
+		String expectedString = TestStringConstants.ENCODED_STRING_01;
+		CharSequence cs = new CafeBase64CharSequence(
+				TestStringConstants.ORIGINAL_STRING_01.getBytes());
+		for (int i = 0; i < expectedString.length(); i++) {
+			assertEquals(expectedString.charAt(i), cs.charAt(i));
+		}
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testCharAtThrowingIndexOutOfBoundsException01() {
+		CharSequence cs = new CafeBase64CharSequence(
+				TestStringConstants.ORIGINAL_STRING_01.getBytes());
+		cs.charAt(cs.length());
+	}
+	
+	@Test
+	public void testLength01() {
+		int columnLimit = 5;
+		String expectedString = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_01, columnLimit);
+		CharSequence cs = new CafeBase64CharSequence(
+				TestStringConstants.ORIGINAL_STRING_01.getBytes(), 
+				columnLimit);
+		assertEquals(expectedString.length(), cs.length());
+	}
+	
+	@Test
+	public void testSubSequence01() {
+		int columnLimit = 10;
+		String expectedString = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_02, columnLimit);
+		CharSequence cs = new CafeBase64CharSequence(
+				TestStringConstants.ORIGINAL_STRING_02.getBytes(), 
+				columnLimit);
+		assertEquals(
+				expectedString.substring(7, 31), 
+				cs.subSequence(7, 31).toString());
+		assertEquals(
+				expectedString.substring(12, 20), 
+				cs.subSequence(7, 31).subSequence(5, 13).toString());
+	}
+	
+	@Test
+	public void testToString01() {
+		String expectedString = TestStringConstants.ENCODED_STRING_01;
+		CharSequence cs = new CafeBase64CharSequence(
+				TestStringConstants.ORIGINAL_STRING_01.getBytes());
+		assertEquals(expectedString, cs.toString());
+	}
+	
+	@Test
+	public void testToString02() {
+		String expectedString = TestStringConstants.ENCODED_STRING_02;
+		ByteBuffer bb = ByteBuffer.wrap(String.format(
+				"[%s]", TestStringConstants.ORIGINAL_STRING_02).getBytes());
+		bb.position(1);
+		bb.limit(bb.limit() - 1);
+		CharSequence cs = new CafeBase64CharSequence(bb);
+		assertEquals(expectedString, cs.toString());
+	}
+	
+	@Test
+	public void testToStringWithWrapping01() {
+		int columnLimit = 5;
+		String expectedString = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_01, columnLimit);
+		CharSequence cs = new CafeBase64CharSequence(
+				TestStringConstants.ORIGINAL_STRING_01.getBytes(), 
+				columnLimit);
+		assertEquals(expectedString, cs.toString());
+	}
+	
+	@Test
+	public void testToStringWithWrapping02() {
+		int columnLimit = 20;
+		String expectedString = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_03, columnLimit);
+		CharSequence cs = new CafeBase64CharSequence(
+				ByteBuffer.wrap(TestStringConstants.ORIGINAL_STRING_03.getBytes()), 
+				columnLimit);
+		assertEquals(expectedString, cs.toString());
+	}
+	
+}
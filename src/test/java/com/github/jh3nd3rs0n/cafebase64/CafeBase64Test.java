@@ -1,10 +1,19 @@
 package com.github.jh3nd3rs0n.cafebase64;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import org.junit.Test;
 
@@ -49,6 +58,228 @@ public class CafeBase64Test {
 		assertEquals(expectedString, decodedString);
 	}
 
+	@Test
+	public void testDecodeAsync01() 
+			throws ExecutionException, InterruptedException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_01;
+		String base64String = TestStringConstants.ENCODED_STRING_01;
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64Result result = CafeBase64.INSTANCE.decodeAsync(
+				new ByteArrayInputStream(base64String.getBytes()), 
+				decodedOut, 
+				false).get();
+		String decodedString = new String(decodedOut.toByteArray());
+		assertEquals(expectedString, decodedString);
+		assertEquals(base64String.length(), result.getBytesRead());
+		assertEquals(expectedString.length(), result.getBytesWritten());
+	}
+	
+	@Test
+	public void testDecodeAsyncCancelled01() {
+		final Runnable[] tasks = new Runnable[1];
+		String base64String = TestStringConstants.ENCODED_STRING_01;
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CompletableFuture<CafeBase64Result> future = 
+				CafeBase64.INSTANCE.decodeAsync(
+						new ByteArrayInputStream(base64String.getBytes()), 
+						decodedOut, 
+						false,
+						new Executor() {
+							
+							@Override
+							public void execute(final Runnable command) {
+								tasks[0] = command;
+							}
+							
+						});
+		future.cancel(false);
+		tasks[0].run();
+		assertTrue(future.isCancelled());
+		assertEquals(0, decodedOut.size());
+	}
+	
+	@Test
+	public void testDecodeAsyncCancelled02() throws IOException {
+		final Runnable[] tasks = new Runnable[1];
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[1];
+		byte[] original = new byte[100000];
+		new Random(29).nextBytes(original);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 0);
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream() {
+			
+			@Override
+			public synchronized void write(
+					final byte[] b, final int off, final int len) {
+				super.write(b, off, len);
+				futures[0].cancel(false);
+			}
+			
+		};
+		BufferPolicy.setBufferSize(4096);
+		try {
+			futures[0] = CafeBase64.INSTANCE.decodeAsync(
+					new ByteArrayInputStream(encoded), 
+					decodedOut, 
+					false,
+					new Executor() {
+						
+						@Override
+						public void execute(final Runnable command) {
+							tasks[0] = command;
+						}
+						
+					});
+			tasks[0].run();
+		} finally {
+			BufferPolicy.setBufferSize(0);
+		}
+		assertTrue(futures[0].isCancelled());
+		assertArrayEquals(
+				Arrays.copyOf(original, 4096 / 4 * 3), 
+				decodedOut.toByteArray());
+	}
+	
+	@Test
+	public void testDecodeAsyncWithGarbageCompletingExceptionally01() 
+			throws InterruptedException {
+		String base64String = TestStringConstants.ENCODED_STRING_01_WITH_GARBAGE;
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CompletableFuture<CafeBase64Result> future = 
+				CafeBase64.INSTANCE.decodeAsync(
+						new ByteArrayInputStream(base64String.getBytes()), 
+						decodedOut, 
+						false);
+		try {
+			future.get();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IOException);
+			return;
+		}
+		fail();
+	}
+	
+	@Test
+	public void testDecodeFromCharArray01() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_01;
+		char[] base64Chars = 
+				TestStringConstants.ENCODED_STRING_01.toCharArray();
+		byte[] decoded = new byte[expectedString.length()];
+		int length = CafeBase64.INSTANCE.decode(
+				base64Chars, 0, base64Chars.length, decoded, 0, false);
+		String decodedString = new String(decoded, 0, length);
+		assertEquals(expectedString, decodedString);
+	}
+	
+	@Test
+	public void testDecodeFromCharArray02() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_02;
+		char[] base64Chars = String.format(
+				"[%s]", TestStringConstants.ENCODED_STRING_02).toCharArray();
+		ByteBuffer decoded = ByteBuffer.allocate(expectedString.length());
+		CafeBase64.INSTANCE.decode(
+				base64Chars, 1, base64Chars.length - 2, decoded, false);
+		String decodedString = new String(decoded.array());
+		assertEquals(expectedString, decodedString);
+	}
+	
+	@Test
+	public void testDecodeFromCharArray03() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_03;
+		char[] base64Chars = 
+				TestStringConstants.ENCODED_STRING_03.toCharArray();
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.decode(
+				base64Chars, 0, base64Chars.length, decodedOut, false);
+		String decodedString = new String(decodedOut.toByteArray());
+		assertEquals(expectedString, decodedString);
+	}
+	
+	@Test
+	public void testDecodeFromCharSequence01() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_01;
+		String base64String = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_01, 5);
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.decode(
+				base64String, 0, base64String.length(), decodedOut, false);
+		String decodedString = new String(decodedOut.toByteArray());
+		assertEquals(expectedString, decodedString);
+	}
+	
+	@Test
+	public void testDecodeFromCharSequence02() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_02;
+		StringBuilder base64String = new StringBuilder(
+				TestStringConstants.ENCODED_STRING_02);
+		byte[] decoded = new byte[expectedString.length() + 2];
+		int length = CafeBase64.INSTANCE.decode(
+				base64String, 0, base64String.length(), decoded, 1, false);
+		String decodedString = new String(
+				Arrays.copyOfRange(decoded, 1, 1 + length));
+		assertEquals(expectedString, decodedString);
+	}
+	
+	@Test
+	public void testDecodeFromCharSequence03() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_03;
+		String base64String = String.format(
+				"{\"data\":\"%s\"}", TestStringConstants.ENCODED_STRING_03);
+		int start = base64String.indexOf(':') + 2;
+		int end = base64String.length() - 2;
+		ByteBuffer decoded = ByteBuffer.allocateDirect(
+				expectedString.length());
+		int length = CafeBase64.INSTANCE.decode(
+				base64String, start, end, decoded, false);
+		decoded.flip();
+		byte[] b = new byte[length];
+		decoded.get(b);
+		assertEquals(expectedString, new String(b));
+	}
+	
+	@Test
+	public void testDecodeFromCharSequenceWithGarbage01() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_01;
+		String base64String = TestStringConstants.ENCODED_STRING_01_WITH_GARBAGE;
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.decode(
+				base64String, 0, base64String.length(), decodedOut, true);
+		String decodedString = new String(decodedOut.toByteArray());
+		assertEquals(expectedString, decodedString);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testDecodeFromCharSequenceWithGarbageThrowingIOException01() 
+			throws IOException {
+		String base64String = TestStringConstants.ENCODED_STRING_02_WITH_GARBAGE;
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.decode(
+				base64String, 0, base64String.length(), decodedOut, false);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testDecodeFromCharSequenceWithIncompleteGroup() 
+			throws IOException {
+		String base64String = TestStringConstants.ENCODED_STRING_03 + "Q";
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.decode(
+				base64String, 0, base64String.length(), decodedOut, false);
+	}
+	
+	@Test
+	public void testDecodePipelined01() throws IOException {
+		String expectedString = TestStringConstants.ORIGINAL_STRING_02;
+		String base64String = TestStringConstants.ENCODED_STRING_02;
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64Result result = CafeBase64.INSTANCE.decodePipelined(
+				new ByteArrayInputStream(base64String.getBytes()), 
+				decodedOut, 
+				false);
+		String decodedString = new String(decodedOut.toByteArray());
+		assertEquals(expectedString, decodedString);
+		assertEquals(base64String.length(), result.getBytesRead());
+		assertEquals(expectedString.length(), result.getBytesWritten());
+	}
+	
 	@Test
 	public void testDecodeWithGarbage01() throws IOException {
 		String expectedString = TestStringConstants.ORIGINAL_STRING_01;
@@ -151,6 +382,49 @@ public class CafeBase64Test {
 		assertEquals(expectedString, encodedString);
 	}
 	
+	@Test
+	public void testEncodeAsyncWithWrapping01() 
+			throws ExecutionException, InterruptedException {
+		int columnLimit = 5;
+		String expectedString = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_01, columnLimit);
+		String originalString = TestStringConstants.ORIGINAL_STRING_01;
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		CafeBase64Result result = CafeBase64.INSTANCE.encodeAsync(
+				new ByteArrayInputStream(originalString.getBytes()), 
+				encodedOut, 
+				columnLimit, 
+				new Executor() {
+					
+					@Override
+					public void execute(final Runnable command) {
+						command.run();
+					}
+					
+				}).get();
+		String encodedString = new String(encodedOut.toByteArray());
+		assertEquals(expectedString, encodedString);
+		assertEquals(originalString.length(), result.getBytesRead());
+		assertEquals(expectedString.length(), result.getBytesWritten());
+	}
+	
+	@Test
+	public void testEncodePipelinedWithWrapping01() throws IOException {
+		int columnLimit = 5;
+		String expectedString = StringHelper.wrap(
+				TestStringConstants.ENCODED_STRING_02, columnLimit);
+		String originalString = TestStringConstants.ORIGINAL_STRING_02;
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		CafeBase64Result result = CafeBase64.INSTANCE.encodePipelined(
+				new ByteArrayInputStream(originalString.getBytes()), 
+				encodedOut, 
+				columnLimit);
+		String encodedString = new String(encodedOut.toByteArray());
+		assertEquals(expectedString, encodedString);
+		assertEquals(originalString.length(), result.getBytesRead());
+		assertEquals(expectedString.length(), result.getBytesWritten());
+	}
+	
 	@Test
 	public void testEncodeWithWrapping01() throws IOException {
 		int columnLimit = 5;
@@ -0,0 +1,68 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ChannelOutputStreamTest {
+
+	@Test
+	public void testFlush01() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ChannelOutputStream channelOut = new ChannelOutputStream(
+				Channels.newChannel(out), 16);
+		channelOut.write(1);
+		channelOut.write(new byte[] { 2, 3 });
+		assertEquals(0, out.size());
+		channelOut.flush();
+		assertArrayEquals(new byte[] { 1, 2, 3 }, out.toByteArray());
+	}
+	
+	@Test
+	public void testWrite01() throws IOException {
+		byte[] b = ByteHelper.newRandomBytes(1000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ChannelOutputStream channelOut = new ChannelOutputStream(
+				Channels.newChannel(out), 16);
+		int offset = 0;
+		int length = 1;
+		while (offset < b.length) {
+			int n = Math.min(length, b.length - offset);
+			channelOut.write(b, offset, n);
+			offset += n;
+			length = length * 2 % 37;
+		}
+		channelOut.close();
+		assertArrayEquals(b, out.toByteArray());
+	}
+	
+	@Test
+	public void testWrite02() throws IOException {
+		byte[] b = ByteHelper.newRandomBytes(100);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ChannelOutputStream channelOut = new ChannelOutputStream(
+				Channels.newChannel(out), 16);
+		channelOut.write(b, 0, 10);
+		channelOut.write(b, 10, 90);
+		assertArrayEquals(b, out.toByteArray());
+		channelOut.write(b, 0, 15);
+		assertArrayEquals(b, out.toByteArray());
+		channelOut.flush();
+		assertArrayEquals(
+				Arrays.copyOfRange(b, 0, 15), 
+				Arrays.copyOfRange(out.toByteArray(), 100, 115));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testChannelOutputStreamWithInvalidBufferLength01() {
+		new ChannelOutputStream(
+				Channels.newChannel(new ByteArrayOutputStream()), 0);
+	}
+	
+}
@@ -0,0 +1,73 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+public class CheckpointTest {
+
+	private static Checkpoint newCheckpoint(
+			final boolean decoding, final int columnLimit) {
+		return new Checkpoint(
+				decoding, 
+				columnLimit, 
+				false, 
+				Paths.get("in.txt"), 
+				Paths.get("out.b64"), 
+				Paths.get(".out.b64.0000000000000001.tmp"), 
+				0L, 
+				0L);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdvanceForIllegalArgumentException01() {
+		newCheckpoint(false, 76).advance(4L, 8L);
+	}
+	
+	@Test
+	public void testIsSameConversion01() {
+		Checkpoint checkpoint = newCheckpoint(false, 76);
+		assertTrue(checkpoint.isSameConversion(
+				checkpoint.advance(3L, 4L)));
+		assertFalse(checkpoint.isSameConversion(newCheckpoint(false, 64)));
+		assertFalse(checkpoint.isSameConversion(newCheckpoint(true, 76)));
+		assertTrue(newCheckpoint(true, 76).isSameConversion(
+				newCheckpoint(true, 64)));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testLoadForIOException01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".ckpt");
+		try {
+			Files.write(file, "decoding=true\n".getBytes());
+			Checkpoint.load(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testStore01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".ckpt");
+		try {
+			Checkpoint checkpoint = newCheckpoint(false, 76).advance(
+					3L * 1024L, 4L * 1024L + 53L);
+			checkpoint.store(file);
+			Checkpoint loaded = Checkpoint.load(file);
+			assertTrue(checkpoint.isSameConversion(loaded));
+			assertEquals(checkpoint.toString(), loaded.toString());
+			assertFalse(Files.exists(file.resolveSibling(
+					file.getFileName() + ".tmp")));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+}
@@ -0,0 +1,140 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+public class CheckpointedFileTransformerTest {
+
+	private static Checkpoint newCheckpoint(
+			final boolean decoding, 
+			final Path in, 
+			final Path out, 
+			final Path tempOut) {
+		return new Checkpoint(decoding, 76, false, in, out, tempOut, 0L, 0L);
+	}
+	
+	@Test
+	public void testTransform01() throws IOException {
+		byte[] b = ByteHelper.newRandomBytes(10000);
+		byte[] expected = CafeBase64.INSTANCE.encode(b, 76);
+		Path dir = Files.createTempDirectory("cafebase64");
+		Path in = dir.resolve("in.bin");
+		Path tempOut = dir.resolve("out.tmp");
+		Path checkpointFile = dir.resolve("out.ckpt");
+		try {
+			Files.write(in, b);
+			Checkpoint start = newCheckpoint(
+					false, in, dir.resolve("out.b64"), tempOut);
+			long inputOffset = 57L * 40L;
+			long outputOffset = CafeBase64Encoder.encodedOffset(
+					inputOffset, 76, CafeBase64Encoder.lineSeparatorLength());
+			byte[] partial = new byte[(int) outputOffset + 100];
+			System.arraycopy(expected, 0, partial, 0, (int) outputOffset);
+			Files.write(tempOut, partial);
+			CafeBase64Result result;
+			try (FileChannel inChannel = FileChannel.open(in); 
+					FileChannel outChannel = FileChannel.open(
+							tempOut, StandardOpenOption.WRITE)) {
+				result = new CheckpointedFileTransformer(
+						checkpointFile, 999L, 300).transform(
+								inChannel, 
+								outChannel, 
+								start.advance(inputOffset, outputOffset));
+				outChannel.truncate(outputOffset + result.getBytesWritten());
+			}
+			assertEquals(b.length - inputOffset, result.getBytesRead());
+			assertArrayEquals(expected, Files.readAllBytes(tempOut));
+			Checkpoint last = Checkpoint.load(checkpointFile);
+			assertTrue(last.getInputOffset() > inputOffset);
+			assertEquals(0L, last.getInputOffset() % 3L);
+		} finally {
+			Files.deleteIfExists(in);
+			Files.deleteIfExists(tempOut);
+			Files.deleteIfExists(checkpointFile);
+			Files.delete(dir);
+		}
+	}
+	
+	@Test
+	public void testTransform02() throws IOException {
+		byte[] b = ByteHelper.newRandomBytes(10000);
+		byte[] encoded = CafeBase64.INSTANCE.encode(b, 76);
+		Path dir = Files.createTempDirectory("cafebase64");
+		Path in = dir.resolve("in.b64");
+		Path tempOut = dir.resolve("out.tmp");
+		Path checkpointFile = dir.resolve("out.ckpt");
+		try {
+			byte[] corrupted = encoded.clone();
+			corrupted[encoded.length - 100] = '*';
+			Files.write(in, corrupted);
+			Files.createFile(tempOut);
+			Checkpoint start = newCheckpoint(
+					true, in, dir.resolve("out.bin"), tempOut);
+			CheckpointedFileTransformer transformer = 
+					new CheckpointedFileTransformer(checkpointFile, 1000L, 301);
+			try (FileChannel inChannel = FileChannel.open(in); 
+					FileChannel outChannel = FileChannel.open(
+							tempOut, StandardOpenOption.WRITE)) {
+				transformer.transform(inChannel, outChannel, start);
+				fail("expected an IOException");
+			} catch (IOException e) {
+				assertTrue(e.getMessage().contains("non-alphabet"));
+			}
+			Checkpoint checkpoint = Checkpoint.load(checkpointFile);
+			assertTrue(checkpoint.getInputOffset() > 0L);
+			Files.write(in, encoded);
+			try (FileChannel inChannel = FileChannel.open(in); 
+					FileChannel outChannel = FileChannel.open(
+							tempOut, StandardOpenOption.WRITE)) {
+				CafeBase64Result result = transformer.transform(
+						inChannel, outChannel, checkpoint);
+				outChannel.truncate(
+						checkpoint.getOutputOffset() + result.getBytesWritten());
+			}
+			assertArrayEquals(b, Files.readAllBytes(tempOut));
+		} finally {
+			Files.deleteIfExists(in);
+			Files.deleteIfExists(tempOut);
+			Files.deleteIfExists(checkpointFile);
+			Files.delete(dir);
+		}
+	}
+	
+	@Test(expected = IOException.class)
+	public void testTransformForIOException01() throws IOException {
+		Path dir = Files.createTempDirectory("cafebase64");
+		Path in = dir.resolve("in.bin");
+		Path tempOut = dir.resolve("out.tmp");
+		Path checkpointFile = dir.resolve("out.ckpt");
+		try {
+			Files.write(in, new byte[30]);
+			Files.createFile(tempOut);
+			try (FileChannel inChannel = FileChannel.open(in); 
+					FileChannel outChannel = FileChannel.open(
+							tempOut, StandardOpenOption.WRITE)) {
+				new CheckpointedFileTransformer(checkpointFile).transform(
+						inChannel, 
+						outChannel, 
+						newCheckpoint(false, in, in, tempOut).advance(
+								30L, 40L));
+			}
+		} finally {
+			Files.deleteIfExists(in);
+			Files.deleteIfExists(tempOut);
+			Files.deleteIfExists(checkpointFile);
+			Files.delete(dir);
+		}
+	}
+	
+}
@@ -0,0 +1,88 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+public class DecodingSpliteratorTest {
+
+	private static byte[] join(final List<CafeBase64Chunk> chunks) {
+		int length = 0;
+		for (CafeBase64Chunk chunk : chunks) {
+			length = (int) Math.max(
+					length, chunk.getOffset() + chunk.getLength());
+		}
+		byte[] b = new byte[length];
+		for (CafeBase64Chunk chunk : chunks) {
+			chunk.getBuffer().get(
+					b, (int) chunk.getOffset(), chunk.getLength());
+		}
+		return b;
+	}
+	
+	@Test
+	public void testDecodeChunks01() {
+		byte[] original = ByteHelper.newRandomBytes(100000);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 76);
+		List<CafeBase64Chunk> chunks = StreamSupport.stream(
+				new DecodingSpliterator(ByteBuffer.wrap(encoded), false, 1000), 
+				true).collect(Collectors.toList());
+		assertArrayEquals(original, join(chunks));
+	}
+	
+	@Test
+	public void testDecodeChunks02() {
+		byte[] original = ByteHelper.newRandomBytes(100001);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 7);
+		ByteBuffer bb = ByteBuffer.allocateDirect(encoded.length + 1);
+		bb.put((byte) 0).put(encoded).flip().position(1);
+		List<CafeBase64Chunk> chunks = StreamSupport.stream(
+				new DecodingSpliterator(bb, false, 333), 
+				true).collect(Collectors.toList());
+		assertArrayEquals(original, join(chunks));
+	}
+	
+	@Test
+	public void testDecodeChunks03() {
+		byte[] original = ByteHelper.newRandomBytes(100002);
+		byte[] encoded = new String(
+				CafeBase64.INSTANCE.encode(original, 0)).replace(
+						"A", "A*").getBytes();
+		List<CafeBase64Chunk> chunks = CafeBase64.INSTANCE.decodeChunks(
+				ByteBuffer.wrap(encoded), true).parallel().collect(
+						Collectors.toList());
+		assertArrayEquals(original, join(chunks));
+	}
+	
+	@Test
+	public void testDecodeChunks04() {
+		byte[] encoded = "Zm8=Zm9v".getBytes();
+		List<CafeBase64Chunk> chunks = StreamSupport.stream(
+				new DecodingSpliterator(ByteBuffer.wrap(encoded), false, 1), 
+				true).collect(Collectors.toList());
+		assertArrayEquals("fofoo".getBytes(), join(chunks));
+	}
+	
+	@Test(expected = UncheckedIOException.class)
+	public void testDecodeChunksWithGarbage01() {
+		StreamSupport.stream(
+				new DecodingSpliterator(
+						ByteBuffer.wrap("Zm9v*Zm9v".getBytes()), false, 4), 
+				true).collect(Collectors.toList());
+	}
+	
+	@Test
+	public void testTrySplit01() {
+		DecodingSpliterator spliterator = new DecodingSpliterator(
+				ByteBuffer.wrap("Zm9v".getBytes()), false, 4);
+		assertNull(spliterator.trySplit());
+	}
+	
+}
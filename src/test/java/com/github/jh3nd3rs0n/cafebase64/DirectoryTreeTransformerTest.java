@@ -0,0 +1,143 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DirectoryTreeTransformerTest {
+
+	private static final MultiFileTransformer.ErrorHandler FAILING = 
+			new MultiFileTransformer.ErrorHandler() {
+		
+		@Override
+		public void handleError(final String operand, final IOException e) {
+			throw new AssertionError(operand, e);
+		}
+		
+	};
+	
+	private static MultiFileTransformer.Transformation newTransformation(
+			final boolean decoding) {
+		return new MultiFileTransformer.Transformation() {
+			
+			@Override
+			public void transform(
+					final InputStream in, final OutputStream out) 
+					throws IOException {
+				if (decoding) {
+					CafeBase64.INSTANCE.decode(in, out, false);
+				} else {
+					CafeBase64.INSTANCE.encode(in, out, 76);
+				}
+			}
+			
+		};
+	}
+	
+	private Path directory;
+	private ForkJoinPool pool;
+	
+	@Before
+	public void setUp() throws IOException {
+		this.directory = Files.createTempDirectory("cafebase64");
+		this.pool = new ForkJoinPool(3);
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		this.pool.shutdown();
+		FileHelper.deleteRecursively(this.directory);
+	}
+	
+	@Test
+	public void testGetOutputDirectory01() {
+		Path dir = Paths.get("data").toAbsolutePath();
+		assertEquals(
+				dir.resolveSibling("data.b64"), 
+				DirectoryTreeTransformer.getOutputDirectory(dir, false));
+		assertEquals(
+				dir.resolveSibling("data.decoded"), 
+				DirectoryTreeTransformer.getOutputDirectory(dir, true));
+	}
+	
+	@Test
+	public void testTransform01() throws IOException {
+		Random random = new Random(39);
+		Path input = this.directory.resolve("in");
+		List<Path> files = new ArrayList<Path>();
+		for (int i = 0; i < 40; i++) {
+			Path dir = input;
+			for (int depth = 0; depth < i % 5; depth++) {
+				dir = dir.resolve(String.format("d%s", (i + depth) % 3));
+			}
+			Files.createDirectories(dir);
+			byte[] b = new byte[random.nextInt(5000)];
+			random.nextBytes(b);
+			Path file = dir.resolve(String.format("f%s", i));
+			Files.write(file, b);
+			files.add(file);
+		}
+		Files.createDirectories(input.resolve("empty"));
+		Path encoded = this.directory.resolve("encoded");
+		Path decoded = this.directory.resolve("decoded");
+		assertEquals(0L, new DirectoryTreeTransformer(
+				newTransformation(false), false, this.pool, FAILING).transform(
+						input, encoded));
+		assertEquals(0L, new DirectoryTreeTransformer(
+				newTransformation(true), true, this.pool, FAILING).transform(
+						encoded, decoded));
+		for (Path file : files) {
+			Path relativeFile = input.relativize(file);
+			byte[] b = Files.readAllBytes(file);
+			assertArrayEquals(
+					ByteHelper.encode(b, 76), 
+					Files.readAllBytes(encoded.resolve(
+							relativeFile.toString() + ".b64")));
+			assertArrayEquals(
+					b, Files.readAllBytes(decoded.resolve(relativeFile.toString())));
+		}
+		assertFalse(Files.exists(encoded.resolve("empty")));
+	}
+	
+	@Test
+	public void testTransform02() throws IOException {
+		Path input = this.directory.resolve("in");
+		Files.createDirectories(input);
+		Files.write(input.resolve("a"), new byte[] { 1, 2, 3 });
+		Path output = input.resolve("out");
+		assertEquals(0L, new DirectoryTreeTransformer(
+				newTransformation(false), false, this.pool, FAILING).transform(
+						input, output));
+		try (Stream<Path> outputFiles = Files.list(output)) {
+			assertEquals(1L, outputFiles.count());
+		}
+		assertArrayEquals(
+				ByteHelper.encode(new byte[] { 1, 2, 3 }, 76), 
+				Files.readAllBytes(output.resolve("a.b64")));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testTransformForIOException01() throws IOException {
+		new DirectoryTreeTransformer(
+				newTransformation(false), false, this.pool, FAILING).transform(
+						this.directory.resolve("missing"), 
+						this.directory.resolve("out"));
+	}
+	
+}
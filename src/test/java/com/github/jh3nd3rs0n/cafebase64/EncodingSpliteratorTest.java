@@ -0,0 +1,89 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+public class EncodingSpliteratorTest {
+
+	private static byte[] join(final List<CafeBase64Chunk> chunks) {
+		int length = 0;
+		for (CafeBase64Chunk chunk : chunks) {
+			length = (int) Math.max(
+					length, chunk.getOffset() + chunk.getLength());
+		}
+		byte[] b = new byte[length];
+		for (CafeBase64Chunk chunk : chunks) {
+			chunk.getBuffer().get(
+					b, (int) chunk.getOffset(), chunk.getLength());
+		}
+		return b;
+	}
+	
+	@Test
+	public void testAlignmentLength01() {
+		assertEquals(3L, EncodingSpliterator.alignmentLength(0));
+		assertEquals(57L, EncodingSpliterator.alignmentLength(76));
+		assertEquals(21L, EncodingSpliterator.alignmentLength(7));
+		assertEquals(9L, EncodingSpliterator.alignmentLength(6));
+	}
+	
+	@Test
+	public void testEncodeChunks01() {
+		byte[] original = ByteHelper.newRandomBytes(100000);
+		List<CafeBase64Chunk> chunks = StreamSupport.stream(
+				new EncodingSpliterator(ByteBuffer.wrap(original), 76, 1000), 
+				true).collect(Collectors.toList());
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 76), join(chunks));
+	}
+	
+	@Test
+	public void testEncodeChunks02() {
+		byte[] original = ByteHelper.newRandomBytes(100001);
+		ByteBuffer bb = ByteBuffer.allocateDirect(original.length + 1);
+		bb.put((byte) 0).put(original).flip().position(1);
+		List<CafeBase64Chunk> chunks = StreamSupport.stream(
+				new EncodingSpliterator(bb, 7, 500), 
+				true).collect(Collectors.toList());
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 7), join(chunks));
+		assertEquals(1, bb.position());
+	}
+	
+	@Test
+	public void testEncodeChunks03() {
+		byte[] original = ByteHelper.newRandomBytes(100002);
+		List<CafeBase64Chunk> chunks = CafeBase64.INSTANCE.encodeChunks(
+				ByteBuffer.wrap(original), 0).parallel().collect(
+						Collectors.toList());
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 0), join(chunks));
+	}
+	
+	@Test
+	public void testTrySplit01() {
+		Spliterator<CafeBase64Chunk> spliterator = new EncodingSpliterator(
+				ByteBuffer.wrap(new byte[57 * 10 + 1]), 76, 57);
+		assertEquals(11L, spliterator.estimateSize());
+		Spliterator<CafeBase64Chunk> prefix = spliterator.trySplit();
+		assertEquals(5L, prefix.estimateSize());
+		assertEquals(6L, spliterator.estimateSize());
+	}
+	
+	@Test
+	public void testTrySplit02() {
+		Spliterator<CafeBase64Chunk> spliterator = new EncodingSpliterator(
+				ByteBuffer.wrap(new byte[57]), 76, 57);
+		assertNull(spliterator.trySplit());
+	}
+	
+}
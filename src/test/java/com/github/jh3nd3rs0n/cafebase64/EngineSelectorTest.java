@@ -0,0 +1,106 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class EngineSelectorTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorForIllegalArgumentException01() {
+		new EngineSelector(0, 8192L, 4096L, 1024L);
+	}
+	
+	@Test
+	public void testKnownLength01() {
+		assertEquals(10L, EngineSelector.knownLength(
+				new ByteArrayInputStream(new byte[10])));
+	}
+	
+	@Test
+	public void testKnownLength02() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try {
+			Files.write(file, new byte[100]);
+			InputStream in = new FileInputStream(file.toFile());
+			try {
+				in.skip(40L);
+				assertEquals(60L, EngineSelector.knownLength(in));
+			} finally {
+				in.close();
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testKnownLength03() {
+		assertEquals(
+				EngineSelector.UNKNOWN_LENGTH, 
+				EngineSelector.knownLength(new InputStream() {
+					
+					@Override
+					public int read() {
+						return -1;
+					}
+					
+				}));
+	}
+	
+	@Test
+	public void testParallelismThreshold01() {
+		assertEquals(
+				1024, 
+				new EngineSelector(4, 16L, 4096L, 1024L).parallelismThreshold());
+	}
+	
+	@Test
+	public void testParallelismThreshold02() {
+		assertEquals(
+				Integer.MAX_VALUE, 
+				new EngineSelector(1, 16L, 4096L, 1024L).parallelismThreshold());
+	}
+	
+	@Test
+	public void testSelect01() {
+		EngineSelector selector = new EngineSelector(4, 16L, 4096L, 1024L);
+		assertEquals(
+				EngineSelector.Engine.BLOCK, 
+				selector.select(EngineSelector.UNKNOWN_LENGTH, true));
+		assertEquals(EngineSelector.Engine.MINIMAL, selector.select(0L, true));
+		assertEquals(EngineSelector.Engine.MINIMAL, selector.select(16L, false));
+		assertEquals(EngineSelector.Engine.BLOCK, selector.select(17L, true));
+		assertEquals(EngineSelector.Engine.BLOCK, selector.select(1024L, false));
+		assertEquals(
+				EngineSelector.Engine.PARALLEL, selector.select(1024L, true));
+		assertEquals(
+				EngineSelector.Engine.PIPELINED, selector.select(4096L, false));
+		assertEquals(
+				EngineSelector.Engine.PARALLEL, selector.select(4096L, true));
+	}
+	
+	@Test
+	public void testSelect02() {
+		EngineSelector selector = new EngineSelector(1, 16L, 4096L, 1024L);
+		assertEquals(EngineSelector.Engine.MINIMAL, selector.select(16L, true));
+		assertEquals(EngineSelector.Engine.BLOCK, selector.select(4096L, true));
+		assertEquals(EngineSelector.Engine.BLOCK, selector.select(4096L, false));
+	}
+	
+	@Test
+	public void testSelect03() {
+		EngineSelector selector = new EngineSelector(4, -1L, -1L, -1L);
+		assertEquals(EngineSelector.Engine.BLOCK, selector.select(0L, true));
+		assertEquals(
+				EngineSelector.Engine.BLOCK, selector.select(Long.MAX_VALUE, true));
+	}
+	
+}
@@ -0,0 +1,24 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class FileHelper {
+	
+	public static void deleteRecursively(final Path path) throws IOException {
+		if (Files.isDirectory(path)) {
+			try (DirectoryStream<Path> children = Files.newDirectoryStream(
+					path)) {
+				for (Path child : children) {
+					deleteRecursively(child);
+				}
+			}
+		}
+		Files.deleteIfExists(path);
+	}
+
+	private FileHelper() { }
+	
+}
@@ -0,0 +1,198 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileListTransformerTest {
+
+	private static final class RecordingErrorHandler 
+		implements MultiFileTransformer.ErrorHandler {
+		
+		private final List<String> operands = new ArrayList<String>();
+		
+		@Override
+		public synchronized void handleError(
+				final String operand, final IOException e) {
+			this.operands.add(operand);
+		}
+		
+	}
+	
+	private static final MultiFileTransformer.Transformation ENCODING = 
+			new MultiFileTransformer.Transformation() {
+		
+		@Override
+		public void transform(final InputStream in, final OutputStream out) 
+				throws IOException {
+			CafeBase64.INSTANCE.encode(in, out, 76);
+		}
+		
+	};
+	
+	private Path directory;
+	
+	@Before
+	public void setUp() throws IOException {
+		this.directory = Files.createTempDirectory("cafebase64");
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		FileHelper.deleteRecursively(this.directory);
+	}
+	
+	@Test
+	public void testGetOutputPath01() throws IOException {
+		assertEquals(
+				Paths.get("a", "b.txt.b64"), 
+				FileListTransformer.getOutputPath(
+						Paths.get("a", "b.txt"), null, false));
+		assertEquals(
+				Paths.get("a", "b.txt"), 
+				FileListTransformer.getOutputPath(
+						Paths.get("a", "b.txt.b64"), null, true));
+		assertEquals(
+				Paths.get("b.txt.decoded"), 
+				FileListTransformer.getOutputPath(
+						Paths.get("b.txt"), null, true));
+	}
+	
+	@Test
+	public void testGetOutputPath02() throws IOException {
+		Path outputDirectory = Paths.get("out");
+		assertEquals(
+				Paths.get("out", "a", "b.txt.b64"), 
+				FileListTransformer.getOutputPath(
+						Paths.get("a", "b.txt"), outputDirectory, false));
+		assertEquals(
+				Paths.get("out", "a", "b.txt.b64"), 
+				FileListTransformer.getOutputPath(
+						Paths.get("a", "b.txt").toAbsolutePath().getRoot()
+								.resolve("a").resolve("b.txt"), 
+						outputDirectory, 
+						false));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testGetOutputPathForIOException01() throws IOException {
+		FileListTransformer.getOutputPath(
+				Paths.get("..", "b.txt"), Paths.get("out"), false);
+	}
+	
+	@Test
+	public void testTransform01() throws IOException {
+		Random random = new Random(38);
+		StringBuilder list = new StringBuilder();
+		List<Path> files = new ArrayList<Path>();
+		for (int i = 0; i < 50; i++) {
+			byte[] b = new byte[random.nextInt(2000)];
+			random.nextBytes(b);
+			Path file = this.directory.resolve(String.format("file%s", i));
+			Files.write(file, b);
+			files.add(file);
+			list.append(file).append((i % 2 == 0) ? "\n" : "\n\n");
+		}
+		list.append(this.directory.resolve("missing"));
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		FileListTransformer transformer = new FileListTransformer(
+				ENCODING, false, null, 3, errorHandler);
+		long failureCount = transformer.transform(
+				new ByteArrayInputStream(list.toString().getBytes()), false);
+		assertEquals(1L, failureCount);
+		assertEquals(1, errorHandler.operands.size());
+		for (Path file : files) {
+			assertArrayEquals(
+					ByteHelper.encode(Files.readAllBytes(file), 76), 
+					Files.readAllBytes(Paths.get(file + ".b64")));
+		}
+	}
+	
+	@Test
+	public void testTransform02() throws IOException {
+		byte[] b = "Hello, World\n".getBytes();
+		Path file = this.directory.resolve("in").resolve("a b.txt");
+		Files.createDirectories(file.getParent());
+		Files.write(file, b);
+		Path outputDirectory = this.directory.resolve("out");
+		String list = "\0" + file + "\0";
+		FileListTransformer transformer = new FileListTransformer(
+				ENCODING, 
+				false, 
+				outputDirectory, 
+				2, 
+				new RecordingErrorHandler());
+		long failureCount = transformer.transform(
+				new ByteArrayInputStream(list.getBytes()), true);
+		assertEquals(0L, failureCount);
+		assertArrayEquals(
+				ByteHelper.encode(b, 76), 
+				Files.readAllBytes(FileListTransformer.getOutputPath(
+						file, outputDirectory, false)));
+	}
+	
+	@Test
+	public void testTransform03() throws IOException {
+		byte[] b = "Hello, World\n".getBytes();
+		Path file = this.directory.resolve("a.txt");
+		Files.write(file, b);
+		Path claim = this.directory.resolve(".a.txt.b64.tmp");
+		Files.write(claim, "in progress".getBytes());
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		FileListTransformer transformer = new FileListTransformer(
+				ENCODING, false, null, 2, errorHandler);
+		long failureCount = transformer.transform(
+				new ByteArrayInputStream((file + "\n").getBytes()), false);
+		assertEquals(1L, failureCount);
+		assertEquals(1, errorHandler.operands.size());
+		assertArrayEquals("in progress".getBytes(), Files.readAllBytes(claim));
+		assertFalse(Files.exists(Paths.get(file + ".b64")));
+	}
+	
+	@Test
+	public void testTransform04() throws IOException {
+		Path file = this.directory.resolve("a.txt");
+		Files.write(file, "Hello, World\n".getBytes());
+		Path output = Paths.get(file + ".b64");
+		Files.write(output, "former content".getBytes());
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		FileListTransformer transformer = new FileListTransformer(
+				new MultiFileTransformer.Transformation() {
+					
+					@Override
+					public void transform(
+							final InputStream in, final OutputStream out) 
+							throws IOException {
+						out.write("partial".getBytes());
+						throw new IOException("failure");
+					}
+					
+				}, 
+				false, 
+				null, 
+				2, 
+				errorHandler);
+		long failureCount = transformer.transform(
+				new ByteArrayInputStream((file + "\n").getBytes()), false);
+		assertEquals(1L, failureCount);
+		assertArrayEquals(
+				"former content".getBytes(), Files.readAllBytes(output));
+		assertEquals(2, this.directory.toFile().list().length);
+	}
+	
+}
@@ -0,0 +1,58 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+public class FlushPolicyTest {
+
+	@Test
+	public void testNewOutputStream01() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertSame(out, FlushPolicy.END_OF_INPUT.newOutputStream(out));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNewSizeInstanceForIllegalArgumentException01() {
+		FlushPolicy.newSizeInstance(0L);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNewTimeInstanceForIllegalArgumentException01() {
+		FlushPolicy.newTimeInstance(-1L);
+	}
+	
+	@Test
+	public void testValueOf01() {
+		assertSame(FlushPolicy.END_OF_INPUT, FlushPolicy.valueOf("eof"));
+		assertSame(FlushPolicy.LINE, FlushPolicy.valueOf("line"));
+	}
+	
+	@Test
+	public void testValueOf02() {
+		FlushPolicy policy = FlushPolicy.valueOf("4096");
+		assertEquals(FlushPolicy.Mode.SIZE, policy.getMode());
+		assertEquals(4096L, policy.getThreshold());
+	}
+	
+	@Test
+	public void testValueOf03() {
+		FlushPolicy policy = FlushPolicy.valueOf("10ms");
+		assertEquals(FlushPolicy.Mode.TIME, policy.getMode());
+		assertEquals(10L, policy.getThreshold());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfForIllegalArgumentException01() {
+		FlushPolicy.valueOf("sometimes");
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfForIllegalArgumentException02() {
+		FlushPolicy.valueOf("0ms");
+	}
+	
+}
@@ -0,0 +1,70 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+public class FlushingOutputStreamTest {
+
+	private static final class FlushCountingOutputStream 
+		extends ByteArrayOutputStream {
+		
+		private volatile int flushCount = 0;
+		
+		@Override
+		public void flush() {
+			this.flushCount++;
+		}
+		
+	}
+	
+	@Test
+	public void testWrite01() throws IOException {
+		FlushCountingOutputStream out = new FlushCountingOutputStream();
+		OutputStream flushingOut = FlushPolicy.LINE.newOutputStream(out);
+		flushingOut.write("Zm9v".getBytes());
+		assertEquals(0, out.flushCount);
+		flushingOut.write("YmFy\nYm".getBytes());
+		assertEquals(1, out.flushCount);
+		flushingOut.write('\n');
+		assertEquals(2, out.flushCount);
+		assertEquals("Zm9vYmFy\nYm\n", out.toString());
+	}
+	
+	@Test
+	public void testWrite02() throws IOException {
+		FlushCountingOutputStream out = new FlushCountingOutputStream();
+		OutputStream flushingOut = FlushPolicy.newSizeInstance(
+				10L).newOutputStream(out);
+		flushingOut.write(new byte[6]);
+		assertEquals(0, out.flushCount);
+		flushingOut.write(new byte[6]);
+		assertEquals(1, out.flushCount);
+		flushingOut.write(new byte[9]);
+		assertEquals(1, out.flushCount);
+		flushingOut.write(0);
+		assertEquals(2, out.flushCount);
+	}
+	
+	@Test
+	public void testWrite03() throws IOException, InterruptedException {
+		FlushCountingOutputStream out = new FlushCountingOutputStream();
+		OutputStream flushingOut = FlushPolicy.newTimeInstance(
+				20L).newOutputStream(out);
+		flushingOut.write(new byte[6]);
+		flushingOut.write(new byte[6]);
+		assertEquals(0, out.flushCount);
+		long deadline = System.currentTimeMillis() + 5000L;
+		while (out.flushCount == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10L);
+		}
+		assertEquals(1, out.flushCount);
+		Thread.sleep(50L);
+		assertEquals(1, out.flushCount);
+	}
+	
+}
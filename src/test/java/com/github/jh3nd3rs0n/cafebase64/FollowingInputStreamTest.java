@@ -0,0 +1,120 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class FollowingInputStreamTest {
+
+	private static final class FlushCounter implements Flushable {
+		
+		private final AtomicInteger count = new AtomicInteger();
+		
+		@Override
+		public void flush() {
+			this.count.incrementAndGet();
+		}
+		
+	}
+	
+	private static Thread startAppending(
+			final Path file, final byte[]... appends) {
+		Thread thread = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				try {
+					for (byte[] b : appends) {
+						Thread.sleep(50L);
+						Files.write(file, b, StandardOpenOption.APPEND);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			
+		});
+		thread.start();
+		return thread;
+	}
+	
+	@Test
+	public void testRead01() throws IOException, InterruptedException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		FlushCounter counter = new FlushCounter();
+		try (FollowingInputStream in = new FollowingInputStream(
+				file, counter)) {
+			Files.write(file, "Hello".getBytes());
+			Thread thread = startAppending(
+					file, ", ".getBytes(), "World\n".getBytes());
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] b = new byte[64];
+			while (out.size() < "Hello, World\n".length()) {
+				int n = in.read(b);
+				assertTrue(n > 0);
+				out.write(b, 0, n);
+			}
+			thread.join();
+			assertArrayEquals("Hello, World\n".getBytes(), out.toByteArray());
+			assertTrue(counter.count.get() > 0);
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testRead02() throws IOException, InterruptedException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try {
+			final FollowingInputStream in = new FollowingInputStream(
+					file, new FlushCounter());
+			Thread thread = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					try {
+						Thread.sleep(50L);
+						in.close();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+				
+			});
+			thread.start();
+			assertEquals(-1, in.read(new byte[16]));
+			thread.join();
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test(expected = IOException.class)
+	public void testReadForIOException01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".txt");
+		try (FollowingInputStream in = new FollowingInputStream(
+				file, new FlushCounter())) {
+			Files.write(file, "Hello, World\n".getBytes());
+			assertEquals(13, in.read(new byte[16]));
+			Files.write(file, "Bye\n".getBytes());
+			in.read(new byte[16]);
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+}
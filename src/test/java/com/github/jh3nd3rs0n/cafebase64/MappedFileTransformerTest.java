@@ -0,0 +1,190 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class MappedFileTransformerTest {
+
+	private static byte[] transform(
+			final byte[] b, 
+			final int position, 
+			final CafeBase64Codec codec, 
+			final int blockLength) throws IOException {
+		return transform(b, position, codec, null, blockLength, 1024L);
+	}
+	
+	private static byte[] transform(
+			final byte[] b, 
+			final int position, 
+			final CafeBase64Codec codec, 
+			final ForkJoinPool pool, 
+			final int blockLength, 
+			final long windowLength) throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try {
+			Files.write(file, b);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (FileChannel in = FileChannel.open(
+					file, StandardOpenOption.READ)) {
+				in.position(position);
+				CafeBase64Result result = new MappedFileTransformer(
+						codec, pool, blockLength, windowLength).transform(
+								in, out);
+				assertEquals(b.length - position, result.getBytesRead());
+				assertEquals(out.size(), result.getBytesWritten());
+				assertEquals(b.length, in.position());
+			}
+			return out.toByteArray();
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testIsMappable01() {
+		assertTrue(MappedFileTransformer.isMappable(2L * 1024L * 1024L));
+	}
+	
+	@Test
+	public void testIsMappable02() {
+		assertFalse(MappedFileTransformer.isMappable(10L));
+		assertFalse(MappedFileTransformer.isMappable(
+				EngineSelector.UNKNOWN_LENGTH));
+	}
+	
+	@Test
+	public void testTransform01() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100000);
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 76), 
+				transform(original, 0, new CafeBase64Encoder(76), 1000));
+	}
+	
+	@Test
+	public void testTransform02() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100001);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 7);
+		byte[] b = new byte[encoded.length + 3];
+		b[0] = '*';
+		b[1] = '*';
+		b[2] = '*';
+		System.arraycopy(encoded, 0, b, 3, encoded.length);
+		assertArrayEquals(
+				original, 
+				transform(b, 3, new CafeBase64Decoder(false), 333));
+	}
+	
+	@Test
+	public void testTransform03() throws IOException {
+		assertArrayEquals(
+				new byte[] { }, 
+				transform(new byte[] { }, 0, new CafeBase64Encoder(76), 10));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testTransformWithGarbage01() throws IOException {
+		byte[] b = "Zm9v*".getBytes();
+		transform(b, 0, new CafeBase64Decoder(false), 10);
+	}
+	
+	@Test
+	public void testTransformInParallel01() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100000);
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 76), 
+				transform(
+						original, 
+						0, 
+						new CafeBase64Encoder(76), 
+						ForkJoinPool.commonPool(), 
+						100, 
+						10000L));
+	}
+	
+	@Test
+	public void testTransformInParallel02() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100001);
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 0), 
+				transform(
+						original, 
+						0, 
+						new CafeBase64Encoder(0), 
+						ForkJoinPool.commonPool(), 
+						100, 
+						1000L));
+	}
+	
+	@Test
+	public void testTransformInParallel03() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100002);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 76);
+		assertArrayEquals(
+				original, 
+				transform(
+						encoded, 
+						0, 
+						new CafeBase64Decoder(false), 
+						ForkJoinPool.commonPool(), 
+						100, 
+						999L));
+	}
+	
+	@Test
+	public void testTransformInParallel04() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100003);
+		byte[] encoded = new String(
+				CafeBase64.INSTANCE.encode(original, 7)).replace(
+						"A", "A**").getBytes();
+		assertArrayEquals(
+				original, 
+				transform(
+						encoded, 
+						0, 
+						new CafeBase64Decoder(true), 
+						ForkJoinPool.commonPool(), 
+						100, 
+						1001L));
+	}
+	
+	@Test
+	public void testTransformInParallel05() throws IOException {
+		byte[] encoded = "Zm9v\n****\nYmFy\n".getBytes();
+		assertArrayEquals(
+				"foobar".getBytes(), 
+				transform(
+						encoded, 
+						0, 
+						new CafeBase64Decoder(true), 
+						ForkJoinPool.commonPool(), 
+						2, 
+						3L));
+	}
+	
+	@Test
+	public void testTransformWithWindows01() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(100004);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 76);
+		assertArrayEquals(
+				encoded, 
+				transform(
+						original, 0, new CafeBase64Encoder(76), null, 64, 1000L));
+		assertArrayEquals(
+				original, 
+				transform(
+						encoded, 0, new CafeBase64Decoder(false), null, 64, 999L));
+	}
+	
+}
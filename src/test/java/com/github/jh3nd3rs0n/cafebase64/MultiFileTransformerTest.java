@@ -0,0 +1,171 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MultiFileTransformerTest {
+
+	private static final class RecordingErrorHandler 
+		implements MultiFileTransformer.ErrorHandler {
+		
+		private final List<String> operands = new ArrayList<String>();
+		
+		@Override
+		public void handleError(final String operand, final IOException e) {
+			this.operands.add(operand);
+		}
+		
+	}
+	
+	private static final MultiFileTransformer.Transformation ENCODING = 
+			new MultiFileTransformer.Transformation() {
+		
+		@Override
+		public void transform(final InputStream in, final OutputStream out) 
+				throws IOException {
+			CafeBase64.INSTANCE.encode(in, out, 76);
+		}
+		
+	};
+	
+	private ExecutorService executor;
+	private List<Path> files;
+	
+	private Path newFile(final int length) throws IOException {
+		byte[] b = new byte[length];
+		new Random(length).nextBytes(b);
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		Files.write(file, b);
+		this.files.add(file);
+		return file;
+	}
+	
+	@Before
+	public void setUp() {
+		this.executor = Executors.newFixedThreadPool(3);
+		this.files = new ArrayList<Path>();
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		this.executor.shutdownNow();
+		for (Path file : this.files) {
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	public void testTransform01() throws IOException {
+		List<String> operands = new ArrayList<String>();
+		ByteArrayOutputStream expectedOut = new ByteArrayOutputStream();
+		for (int length : new int[] { 100000, 0, 1, 5000, 70000, 2, 33 }) {
+			Path file = this.newFile(length);
+			operands.add(file.toString());
+			expectedOut.write(ByteHelper.encode(Files.readAllBytes(file), 76));
+		}
+		MultiFileTransformer transformer = new MultiFileTransformer(
+				ENCODING, 
+				new ByteArrayInputStream(new byte[] { }), 
+				this.executor, 
+				3, 
+				100, 
+				2);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		assertTrue(transformer.transform(operands, out, errorHandler));
+		assertArrayEquals(expectedOut.toByteArray(), out.toByteArray());
+		assertTrue(errorHandler.operands.isEmpty());
+	}
+	
+	@Test
+	public void testTransform02() throws IOException {
+		byte[] stdin = "Hello, World\n".getBytes();
+		Path file = this.newFile(1000);
+		Path missingFile = this.newFile(0);
+		Files.delete(missingFile);
+		ByteArrayOutputStream expectedOut = new ByteArrayOutputStream();
+		expectedOut.write(ByteHelper.encode(stdin, 76));
+		expectedOut.write(ByteHelper.encode(Files.readAllBytes(file), 76));
+		MultiFileTransformer transformer = new MultiFileTransformer(
+				ENCODING, new ByteArrayInputStream(stdin), this.executor, 2);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		assertFalse(transformer.transform(
+				Arrays.asList(
+						"-", missingFile.toString(), "-", file.toString()), 
+				out, 
+				errorHandler));
+		assertArrayEquals(expectedOut.toByteArray(), out.toByteArray());
+		assertEquals(
+				Arrays.asList(missingFile.toString()), errorHandler.operands);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testTransformForIOException01() throws IOException {
+		Path file = this.newFile(100000);
+		MultiFileTransformer transformer = new MultiFileTransformer(
+				ENCODING, 
+				new ByteArrayInputStream(new byte[] { }), 
+				this.executor, 
+				2, 
+				100, 
+				1);
+		transformer.transform(
+				Arrays.asList(file.toString(), file.toString()), 
+				new OutputStream() {
+					
+					@Override
+					public void write(final int b) throws IOException {
+						throw new IOException("closed");
+					}
+					
+				}, 
+				new RecordingErrorHandler());
+	}
+	
+	@Test
+	public void testTransformWithFileNotFoundException01() throws IOException {
+		final List<IOException> exceptions = new ArrayList<IOException>();
+		MultiFileTransformer transformer = new MultiFileTransformer(
+				ENCODING, 
+				new ByteArrayInputStream(new byte[] { }), 
+				this.executor, 
+				1);
+		assertFalse(transformer.transform(
+				Arrays.asList("/nonexistent/cafebase64.bin"), 
+				new ByteArrayOutputStream(), 
+				new MultiFileTransformer.ErrorHandler() {
+					
+					@Override
+					public void handleError(
+							final String operand, final IOException e) {
+						exceptions.add(e);
+					}
+					
+				}));
+		assertEquals(1, exceptions.size());
+		assertTrue(exceptions.get(0) instanceof FileNotFoundException);
+	}
+	
+}
@@ -0,0 +1,65 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelEncoderTest {
+
+	@Test
+	public void testEncode01() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(1000);
+		ParallelEncoder encoder = new ParallelEncoder(
+				0, ForkJoinPool.commonPool(), 0, 3 * 5);
+		assertArrayEquals(
+				ByteHelper.encode(original, 0), 
+				encoder.encode(ByteBuffer.wrap(original)));
+	}
+	
+	@Test
+	public void testEncode02() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(1001);
+		ParallelEncoder encoder = new ParallelEncoder(
+				7, ForkJoinPool.commonPool(), 0, 3 * 5);
+		assertArrayEquals(
+				ByteHelper.encode(original, 7), 
+				encoder.encode(ByteBuffer.wrap(original)));
+	}
+	
+	@Test
+	public void testEncode03() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(1002);
+		ByteBuffer bb = ByteBuffer.allocateDirect(original.length + 1);
+		bb.put((byte) 0).put(original).flip().position(1);
+		ParallelEncoder encoder = new ParallelEncoder(
+				76, ForkJoinPool.commonPool(), 0, 3 * 11);
+		assertArrayEquals(ByteHelper.encode(original, 76), encoder.encode(bb));
+		assertEquals(bb.limit(), bb.position());
+	}
+	
+	@Test
+	public void testEncode04() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(3 * 1024 * 1024 + 1);
+		assertArrayEquals(
+				ByteHelper.encode(original, 76), 
+				CafeBase64.INSTANCE.encode(original, 76));
+	}
+	
+	@Test
+	public void testEncode05() throws IOException {
+		for (int length = 4; length <= 5; length++) {
+			byte[] original = ByteHelper.newRandomBytes(length);
+			ParallelEncoder encoder = new ParallelEncoder(
+					76, ForkJoinPool.commonPool(), 0, 3);
+			assertArrayEquals(
+					ByteHelper.encode(original, 76), 
+					encoder.encode(ByteBuffer.wrap(original)));
+		}
+	}
+	
+}
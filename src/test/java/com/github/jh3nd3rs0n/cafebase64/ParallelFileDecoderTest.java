@@ -0,0 +1,105 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelFileDecoderTest {
+
+	private static byte[] decode(
+			final byte[] encoded, 
+			final boolean garbageIgnored,
+			final int blockLength, 
+			final int segmentLength) throws IOException {
+		Path encodedFile = Files.createTempFile("cafebase64", ".b64");
+		Path decodedFile = Files.createTempFile("cafebase64", ".bin");
+		try {
+			Files.write(encodedFile, encoded);
+			try (FileChannel in = FileChannel.open(
+					encodedFile, StandardOpenOption.READ);
+					FileChannel out = FileChannel.open(
+							decodedFile, StandardOpenOption.WRITE)) {
+				CafeBase64Result result = new ParallelFileDecoder(
+						in, 
+						out, 
+						garbageIgnored, 
+						ForkJoinPool.commonPool(), 
+						blockLength, 
+						segmentLength).decode();
+				assertEquals(encoded.length, result.getBytesRead());
+				assertEquals(out.position(), result.getBytesWritten());
+			}
+			return Files.readAllBytes(decodedFile);
+		} finally {
+			Files.delete(encodedFile);
+			Files.delete(decodedFile);
+		}
+	}
+	
+	@Test
+	public void testDecode01() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(1000);
+		assertArrayEquals(
+				original, 
+				decode(ByteHelper.encode(original, 76), false, 16, 100));
+	}
+	
+	@Test
+	public void testDecode02() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(1001);
+		assertArrayEquals(
+				original, 
+				decode(ByteHelper.encode(original, 7), false, 5, 13));
+	}
+	
+	@Test
+	public void testDecode03() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(1002);
+		assertArrayEquals(
+				original, 
+				decode(ByteHelper.encode(original, 0), false, 64, 3));
+	}
+	
+	@Test
+	public void testDecode04() throws IOException {
+		String originalString = TestStringConstants.ORIGINAL_STRING_01 
+				+ TestStringConstants.ORIGINAL_STRING_03;
+		String base64String = TestStringConstants.ENCODED_STRING_01 
+				+ TestStringConstants.ENCODED_STRING_03;
+		assertEquals(
+				originalString, 
+				new String(decode(base64String.getBytes(), false, 4, 4)));
+	}
+	
+	@Test
+	public void testDecode05() throws IOException {
+		assertEquals(0, decode(new byte[] { }, false, 4, 4).length);
+	}
+	
+	@Test
+	public void testDecodeWithGarbage01() throws IOException {
+		String originalString = TestStringConstants.ORIGINAL_STRING_02;
+		String base64String = 
+				TestStringConstants.ENCODED_STRING_02_WITH_GARBAGE;
+		assertEquals(
+				originalString, 
+				new String(decode(base64String.getBytes(), true, 4, 10)));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testDecodeWithGarbageThrowingIOException01() 
+			throws IOException {
+		String base64String = 
+				TestStringConstants.ENCODED_STRING_02_WITH_GARBAGE;
+		decode(base64String.getBytes(), false, 4, 10);
+	}
+	
+}
@@ -0,0 +1,87 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelFileEncoderTest {
+
+	private static void testEncode(
+			final int length, 
+			final int columnLimit, 
+			final int blockLength, 
+			final int leafLength) throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(length);
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.encode(
+				new ByteArrayInputStream(original), encodedOut, columnLimit);
+		byte[] prefix = "prefix".getBytes();
+		Path originalFile = Files.createTempFile("cafebase64", ".bin");
+		Path encodedFile = Files.createTempFile("cafebase64", ".b64");
+		try {
+			Files.write(originalFile, original);
+			try (FileChannel in = FileChannel.open(
+					originalFile, StandardOpenOption.READ);
+					FileChannel out = FileChannel.open(
+							encodedFile, StandardOpenOption.WRITE)) {
+				out.write(ByteBuffer.wrap(prefix));
+				CafeBase64Result result = new ParallelFileEncoder(
+						in, 
+						out, 
+						columnLimit, 
+						ForkJoinPool.commonPool(), 
+						blockLength, 
+						leafLength).encode();
+				assertEquals(length, result.getBytesRead());
+				assertEquals(encodedOut.size(), result.getBytesWritten());
+				assertEquals(prefix.length + encodedOut.size(), out.position());
+			}
+			byte[] encoded = Files.readAllBytes(encodedFile);
+			assertArrayEquals(
+					encodedOut.toByteArray(), 
+					Arrays.copyOfRange(encoded, prefix.length, encoded.length));
+		} finally {
+			Files.delete(originalFile);
+			Files.delete(encodedFile);
+		}
+	}
+	
+	@Test
+	public void testEncode01() throws IOException {
+		testEncode(0, 76, 3, 3);
+	}
+	
+	@Test
+	public void testEncode02() throws IOException {
+		testEncode(1000, 0, 3 * 4, 3 * 10);
+	}
+	
+	@Test
+	public void testEncode03() throws IOException {
+		testEncode(1001, 7, 3 * 5, 3 * 11);
+	}
+	
+	@Test
+	public void testEncode04() throws IOException {
+		testEncode(1024 * 1024 + 1, 76, 3 * 1024, 3 * 8 * 1024);
+	}
+	
+	@Test
+	public void testEncode05() throws IOException {
+		testEncode(4, 76, 3, 3);
+		testEncode(5, 76, 3, 3);
+	}
+	
+}
@@ -0,0 +1,93 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+public class PipelinedTransformerTest {
+
+	private static void testRoundtripping(
+			final int length, 
+			final int columnLimit, 
+			final int blockLength, 
+			final int blockCount) throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(length);
+		ByteArrayOutputStream expectedOut = new ByteArrayOutputStream();
+		CafeBase64.INSTANCE.encode(
+				new ByteArrayInputStream(original), expectedOut, columnLimit);
+		ByteArrayOutputStream encodedOut = new ByteArrayOutputStream();
+		CafeBase64Result encodeResult = new PipelinedTransformer(
+				new ByteArrayInputStream(original), 
+				encodedOut, 
+				new CafeBase64Encoder(columnLimit), 
+				blockLength, 
+				blockCount).transform();
+		assertArrayEquals(expectedOut.toByteArray(), encodedOut.toByteArray());
+		assertEquals(length, encodeResult.getBytesRead());
+		assertEquals(encodedOut.size(), encodeResult.getBytesWritten());
+		ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+		CafeBase64Result decodeResult = new PipelinedTransformer(
+				new ByteArrayInputStream(encodedOut.toByteArray()), 
+				decodedOut, 
+				new CafeBase64Decoder(false), 
+				blockLength, 
+				blockCount).transform();
+		assertArrayEquals(original, decodedOut.toByteArray());
+		assertEquals(encodedOut.size(), decodeResult.getBytesRead());
+		assertEquals(length, decodeResult.getBytesWritten());
+	}
+	
+	@Test(expected = IOException.class)
+	public void testTransformForIOException01() throws IOException {
+		new PipelinedTransformer(
+				new ByteArrayInputStream("QUJD#".getBytes("US-ASCII")), 
+				new ByteArrayOutputStream(), 
+				new CafeBase64Decoder(false), 
+				2, 
+				2).transform();
+	}
+	
+	@Test(expected = IOException.class)
+	public void testTransformForIOException02() throws IOException {
+		new PipelinedTransformer(
+				new ByteArrayInputStream(ByteHelper.newRandomBytes(1000)), 
+				new OutputStream() {
+					
+					@Override
+					public void write(final int b) throws IOException {
+						throw new IOException("closed");
+					}
+					
+				}, 
+				new CafeBase64Encoder(76), 
+				30, 
+				3).transform();
+	}
+	
+	@Test
+	public void testWithRoundtripping01() throws IOException {
+		testRoundtripping(0, 76, 3 * 7, 1);
+	}
+	
+	@Test
+	public void testWithRoundtripping02() throws IOException {
+		testRoundtripping(1000, 0, 7, 2);
+	}
+	
+	@Test
+	public void testWithRoundtripping03() throws IOException {
+		testRoundtripping(1001, 5, 3 * 7, 3);
+	}
+	
+	@Test
+	public void testWithRoundtripping04() throws IOException {
+		testRoundtripping(1024 * 1024 + 2, 76, 3 * 16 * 1024, 4);
+	}
+	
+}
@@ -0,0 +1,136 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SparseFileWriterTest {
+
+	private static byte[] newZeroHeavyBytes(final int length) {
+		byte[] b = new byte[length];
+		Random random = new Random(length);
+		for (int i = 0; i < length; i += 3 * SparseFileWriter.BLOCK_LENGTH) {
+			byte[] run = new byte[Math.min(100, length - i)];
+			random.nextBytes(run);
+			System.arraycopy(run, 0, b, i, run.length);
+		}
+		return b;
+	}
+	
+	@Test
+	public void testDataRuns01() {
+		byte[] b = new byte[6 * SparseFileWriter.BLOCK_LENGTH];
+		b[10] = 1;
+		b[3 * SparseFileWriter.BLOCK_LENGTH] = 1;
+		ByteBuffer src = ByteBuffer.wrap(b, 1, b.length - 1);
+		List<ByteBuffer> runs = SparseFileWriter.dataRuns(src, 1L);
+		assertEquals(2, runs.size());
+		assertEquals(1, runs.get(0).position());
+		assertEquals(SparseFileWriter.BLOCK_LENGTH, runs.get(0).limit());
+		assertEquals(
+				3 * SparseFileWriter.BLOCK_LENGTH, runs.get(1).position());
+		assertEquals(
+				4 * SparseFileWriter.BLOCK_LENGTH, runs.get(1).limit());
+		assertEquals(1, src.position());
+	}
+	
+	@Test
+	public void testIsSparseWritable01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try (FileChannel channel = FileChannel.open(
+				file, StandardOpenOption.WRITE)) {
+			assertTrue(SparseFileWriter.isSparseWritable(channel));
+			channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+			assertTrue(SparseFileWriter.isSparseWritable(channel));
+			channel.position(1L);
+			assertFalse(SparseFileWriter.isSparseWritable(channel));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testSetLength01() throws IOException {
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try (FileChannel channel = FileChannel.open(
+				file, StandardOpenOption.WRITE)) {
+			SparseFileWriter.setLength(channel, 10000L);
+			assertEquals(10000L, channel.size());
+			SparseFileWriter.setLength(channel, 100L);
+			assertEquals(10000L, channel.size());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testWrite01() throws IOException {
+		byte[] b = newZeroHeavyBytes(10 * SparseFileWriter.BLOCK_LENGTH + 123);
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try {
+			try (FileChannel channel = FileChannel.open(
+					file, StandardOpenOption.WRITE)) {
+				ByteBuffer src = ByteBuffer.wrap(b);
+				SparseFileWriter.write(channel, src, 0L);
+				assertFalse(src.hasRemaining());
+				SparseFileWriter.setLength(channel, b.length);
+			}
+			assertArrayEquals(b, Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testWrite02() throws IOException {
+		byte[] b = new byte[5 * SparseFileWriter.BLOCK_LENGTH];
+		b[b.length - 1] = 1;
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try {
+			try (FileChannel channel = FileChannel.open(
+					file, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.wrap(new byte[] { 7 }));
+				ByteBuffer src = ByteBuffer.wrap(b, 1, b.length - 1);
+				SparseFileWriter.write(channel, src, 1L);
+				assertEquals(b.length, src.position());
+				SparseFileWriter.setLength(channel, b.length);
+			}
+			byte[] expected = b.clone();
+			expected[0] = 7;
+			assertArrayEquals(expected, Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testWrite03() throws IOException {
+		byte[] b = new byte[8 * SparseFileWriter.BLOCK_LENGTH];
+		Path file = Files.createTempFile("cafebase64", ".bin");
+		try {
+			try (FileChannel channel = FileChannel.open(
+					file, StandardOpenOption.WRITE)) {
+				SparseFileWriter.write(channel, ByteBuffer.wrap(b), 0L);
+				assertEquals(0L, channel.size());
+				SparseFileWriter.setLength(channel, b.length);
+				assertEquals(b.length, channel.size());
+			}
+			assertArrayEquals(b, Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SpscRingQueueTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorForIllegalArgumentException01() {
+		new SpscRingQueue<Object>(0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorForIllegalArgumentException02() {
+		new SpscRingQueue<Object>(3);
+	}
+	
+	@Test
+	public void testOfferAndPoll01() {
+		SpscRingQueue<Integer> queue = new SpscRingQueue<Integer>(2);
+		assertNull(queue.poll());
+		assertTrue(queue.offer(Integer.valueOf(1)));
+		assertTrue(queue.offer(Integer.valueOf(2)));
+		assertFalse(queue.offer(Integer.valueOf(3)));
+		assertEquals(2, queue.size());
+		assertEquals(Integer.valueOf(1), queue.poll());
+		assertTrue(queue.offer(Integer.valueOf(3)));
+		assertEquals(Integer.valueOf(2), queue.poll());
+		assertEquals(Integer.valueOf(3), queue.poll());
+		assertNull(queue.poll());
+		assertEquals(0, queue.size());
+	}
+	
+	@Test
+	public void testOfferAndPoll02() throws InterruptedException {
+		final int count = 100000;
+		final SpscRingQueue<Integer> queue = new SpscRingQueue<Integer>(4);
+		Thread producer = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				for (int i = 0; i < count; i++) {
+					while (!queue.offer(Integer.valueOf(i))) {
+						Thread.yield();
+					}
+				}
+			}
+			
+		});
+		producer.start();
+		for (int i = 0; i < count; i++) {
+			Integer e;
+			while ((e = queue.poll()) == null) {
+				Thread.yield();
+			}
+			assertEquals(i, e.intValue());
+		}
+		producer.join();
+		assertNull(queue.poll());
+	}
+	
+}
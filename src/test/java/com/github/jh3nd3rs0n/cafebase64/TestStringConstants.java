@@ -22,8 +22,8 @@ public final class TestStringConstants {
 
 	static {
 		StringBuilder sb = new StringBuilder();
-		sb.append(String.format("Usage: cafebase64 [OPTION]... [FILE]%n"));
-		sb.append(String.format("Base64 encode or decode FILE, or standard input, to standard output.%n"));
+		sb.append(String.format("Usage: cafebase64 [OPTION]... [FILE]...%n"));
+		sb.append(String.format("Base64 encode or decode each FILE, or standard input, to standard output.%n"));
 		sb.append(String.format("%n"));
 		sb.append(String.format("With no FILE, or when FILE is -, read standard input.%n"));
 		sb.append(String.format("%n"));
@@ -35,6 +35,41 @@ public final class TestStringConstants {
 		sb.append(String.format("  -w COLS, --wrap=COLS%n"));
 		sb.append(String.format("      wrap encoded lines after COLS character (default 76).%n"));
 		sb.append(String.format("      Use 0 to disable line wrapping%n"));
+		sb.append(String.format("  --parallel%n"));
+		sb.append(String.format("      when FILE and standard output are regular files, encode or%n"));
+		sb.append(String.format("      decode using multiple threads%n"));
+		sb.append(String.format("  -j N, --threads=N%n"));
+		sb.append(String.format("      use at most N worker threads for parallel conversion%n"));
+		sb.append(String.format("      (default: the number of available processors)%n"));
+		sb.append(String.format("  -T LIST, --files-from=LIST%n"));
+		sb.append(String.format("      read the names of the files to convert from LIST (- for standard%n"));
+		sb.append(String.format("      input) and write each result to a separate file%n"));
+		sb.append(String.format("  --null%n"));
+		sb.append(String.format("      names in LIST are terminated by NUL instead of newline%n"));
+		sb.append(String.format("  -r DIR, --recursive=DIR%n"));
+		sb.append(String.format("      convert every regular file under DIR into a mirror tree%n"));
+		sb.append(String.format("  --output-directory=OUTDIR%n"));
+		sb.append(String.format("      write the files converted from LIST or DIR under OUTDIR%n"));
+		sb.append(String.format("      instead of next to the files in LIST or DIR%n"));
+		sb.append(String.format("  -o OUTFILE, --output=OUTFILE%n"));
+		sb.append(String.format("      write the result to OUTFILE instead of standard output%n"));
+		sb.append(String.format("  --buffer-size=SIZE%n"));
+		sb.append(String.format("      read and write in blocks of SIZE bytes (default: chosen from%n"));
+		sb.append(String.format("      the type and size of the input and the CPU cache size).%n"));
+		sb.append(String.format("      SIZE may be followed by K or M and must not exceed 64M%n"));
+		sb.append(String.format("  --flush=WHEN%n"));
+		sb.append(String.format("      flush standard output after every line (line), after every%n"));
+		sb.append(String.format("      N bytes (N), or at most T milliseconds after a write (Tms)%n"));
+		sb.append(String.format("      instead of only at the end of input (eof, the default)%n"));
+		sb.append(String.format("  -f, --follow%n"));
+		sb.append(String.format("      after the end of FILE, wait for data to be appended to FILE%n"));
+		sb.append(String.format("      and convert it as it arrives%n"));
+		sb.append(String.format("  --checkpoint=CKPT%n"));
+		sb.append(String.format("      when converting FILE to OUTFILE, periodically record the%n"));
+		sb.append(String.format("      progress in CKPT so that the conversion can be resumed%n"));
+		sb.append(String.format("  --resume%n"));
+		sb.append(String.format("      if CKPT exists, continue the interrupted conversion from the%n"));
+		sb.append(String.format("      progress recorded in it%n"));
 		sb.append(String.format("  --help%n"));
 		sb.append(String.format("      display this help and exit%n"));
 		sb.append(String.format("  --version%n"));
@@ -0,0 +1,50 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class WorkerPoolTest {
+
+	@Test
+	public void testGet01() 
+			throws ExecutionException, InterruptedException {
+		int formerSize = WorkerPool.getSize();
+		try {
+			WorkerPool.setSize(3);
+			ForkJoinPool pool = WorkerPool.get();
+			assertEquals(3, pool.getParallelism());
+			assertSame(pool, WorkerPool.get());
+			Callable<Integer> task = new Callable<Integer>() {
+				
+				@Override
+				public Integer call() {
+					return Integer.valueOf(6);
+				}
+				
+			};
+			Future<Integer> future = pool.submit(task);
+			WorkerPool.setSize(2);
+			assertTrue(pool.isShutdown());
+			assertEquals(Integer.valueOf(6), future.get());
+			assertEquals(2, WorkerPool.get().getParallelism());
+			assertFalse(WorkerPool.get().isShutdown());
+		} finally {
+			WorkerPool.setSize(formerSize);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetSizeForIllegalArgumentException01() {
+		WorkerPool.setSize(0);
+	}
+	
+}
@@ -0,0 +1,256 @@
+package com.github.jh3nd3rs0n.cafebase64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CafeBase64ProcessorTest {
+
+	private static final class RecordingSubscriber 
+		implements Flow.Subscriber<ByteBuffer> {
+		
+		private final long batch;
+		private final ByteArrayOutputStream bytes;
+		private boolean completed;
+		private final CountDownLatch done;
+		private Throwable error;
+		private long outstanding;
+		private boolean overflowed;
+		private Flow.Subscription subscription;
+		
+		public RecordingSubscriber(final long n) {
+			this.batch = n;
+			this.bytes = new ByteArrayOutputStream();
+			this.completed = false;
+			this.done = new CountDownLatch(1);
+			this.error = null;
+			this.outstanding = 0L;
+			this.overflowed = false;
+			this.subscription = null;
+		}
+		
+		public boolean await() throws InterruptedException {
+			return this.done.await(10L, TimeUnit.SECONDS);
+		}
+		
+		public synchronized void cancel() {
+			this.subscription.cancel();
+		}
+		
+		public synchronized byte[] getBytes() {
+			return this.bytes.toByteArray();
+		}
+		
+		public synchronized Throwable getError() {
+			return this.error;
+		}
+		
+		public synchronized boolean isCompleted() {
+			return this.completed;
+		}
+		
+		public synchronized boolean isOverflowed() {
+			return this.overflowed;
+		}
+		
+		@Override
+		public synchronized void onComplete() {
+			this.completed = true;
+			this.done.countDown();
+		}
+		
+		@Override
+		public synchronized void onError(final Throwable throwable) {
+			this.error = throwable;
+			this.done.countDown();
+		}
+		
+		@Override
+		public synchronized void onNext(final ByteBuffer item) {
+			if (this.outstanding == 0L) {
+				this.overflowed = true;
+			} else if (this.batch != Long.MAX_VALUE) {
+				this.outstanding--;
+			}
+			byte[] b = new byte[item.remaining()];
+			item.get(b);
+			this.bytes.write(b, 0, b.length);
+			if (this.outstanding == 0L) {
+				this.outstanding = this.batch;
+				this.subscription.request(this.batch);
+			}
+		}
+		
+		@Override
+		public synchronized void onSubscribe(
+				final Flow.Subscription s) {
+			this.subscription = s;
+			this.outstanding = this.batch;
+			s.request(this.batch);
+		}
+		
+	}
+	
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+		
+		@Override
+		public void execute(final Runnable command) {
+			command.run();
+		}
+		
+	};
+	
+	private static void submitInChunks(
+			final SubmissionPublisher<ByteBuffer> publisher, 
+			final byte[] b, 
+			final Random random) {
+		int offset = 0;
+		while (offset < b.length) {
+			int length = Math.min(random.nextInt(100), b.length - offset);
+			byte[] chunk = new byte[length];
+			System.arraycopy(b, offset, chunk, 0, length);
+			publisher.submit(ByteBuffer.wrap(chunk));
+			offset += length;
+		}
+		publisher.close();
+	}
+	
+	@Test
+	public void testCancel01() {
+		SubmissionPublisher<ByteBuffer> publisher = 
+				new SubmissionPublisher<ByteBuffer>(DIRECT_EXECUTOR, 16);
+		CafeBase64Processor processor = new CafeBase64EncodingProcessor(76);
+		RecordingSubscriber subscriber = new RecordingSubscriber(
+				Long.MAX_VALUE);
+		publisher.subscribe(processor);
+		processor.subscribe(subscriber);
+		publisher.submit(ByteBuffer.wrap("abc".getBytes()));
+		assertEquals("YWJj", new String(subscriber.getBytes()));
+		assertEquals(1, publisher.getNumberOfSubscribers());
+		subscriber.cancel();
+		assertEquals(0, publisher.getNumberOfSubscribers());
+		publisher.submit(ByteBuffer.wrap("def".getBytes()));
+		publisher.close();
+		assertEquals("YWJj", new String(subscriber.getBytes()));
+		assertFalse(subscriber.isCompleted());
+		assertNull(subscriber.getError());
+	}
+	
+	@Test
+	public void testOnComplete01() throws IOException {
+		byte[] original = "a".getBytes();
+		SubmissionPublisher<ByteBuffer> publisher = 
+				new SubmissionPublisher<ByteBuffer>(DIRECT_EXECUTOR, 16);
+		CafeBase64Processor processor = new CafeBase64EncodingProcessor(76);
+		RecordingSubscriber subscriber = new RecordingSubscriber(1L);
+		publisher.subscribe(processor);
+		processor.subscribe(subscriber);
+		publisher.submit(ByteBuffer.wrap(original));
+		assertEquals(0, subscriber.getBytes().length);
+		assertFalse(subscriber.isCompleted());
+		publisher.close();
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 76), 
+				subscriber.getBytes());
+		assertTrue(subscriber.isCompleted());
+	}
+	
+	@Test
+	public void testOnError01() {
+		IOException e = new IOException("upstream failure");
+		SubmissionPublisher<ByteBuffer> publisher = 
+				new SubmissionPublisher<ByteBuffer>(DIRECT_EXECUTOR, 16);
+		CafeBase64Processor processor = new CafeBase64DecodingProcessor(
+				false);
+		RecordingSubscriber subscriber = new RecordingSubscriber(1L);
+		publisher.subscribe(processor);
+		processor.subscribe(subscriber);
+		publisher.submit(ByteBuffer.wrap("YWJj".getBytes()));
+		publisher.closeExceptionally(e);
+		assertEquals("abc", new String(subscriber.getBytes()));
+		assertSame(e, subscriber.getError());
+		assertFalse(subscriber.isCompleted());
+	}
+	
+	@Test
+	public void testRequest01() throws IOException {
+		byte[] original = ByteHelper.newRandomBytes(5000);
+		SubmissionPublisher<ByteBuffer> publisher = 
+				new SubmissionPublisher<ByteBuffer>(DIRECT_EXECUTOR, 16);
+		CafeBase64Processor processor = new CafeBase64EncodingProcessor(7);
+		RecordingSubscriber subscriber = new RecordingSubscriber(1L);
+		publisher.subscribe(processor);
+		processor.subscribe(subscriber);
+		submitInChunks(publisher, original, new Random(1L));
+		assertArrayEquals(
+				CafeBase64.INSTANCE.encode(original, 7), 
+				subscriber.getBytes());
+		assertTrue(subscriber.isCompleted());
+		assertFalse(subscriber.isOverflowed());
+	}
+	
+	@Test
+	public void testWithRoundtripping01() 
+			throws InterruptedException, IOException {
+		byte[] original = ByteHelper.newRandomBytes(100000);
+		SubmissionPublisher<ByteBuffer> publisher = 
+				new SubmissionPublisher<ByteBuffer>();
+		CafeBase64Processor encodingProcessor = 
+				new CafeBase64EncodingProcessor(76);
+		CafeBase64Processor decodingProcessor = 
+				new CafeBase64DecodingProcessor(false);
+		RecordingSubscriber subscriber = new RecordingSubscriber(
+				Long.MAX_VALUE);
+		publisher.subscribe(encodingProcessor);
+		encodingProcessor.subscribe(decodingProcessor);
+		decodingProcessor.subscribe(subscriber);
+		submitInChunks(publisher, original, new Random(2L));
+		assertTrue(subscriber.await());
+		assertNull(subscriber.getError());
+		assertArrayEquals(original, subscriber.getBytes());
+	}
+	
+	@Test
+	public void testWithRoundtripping02() 
+			throws InterruptedException, IOException {
+		byte[] original = ByteHelper.newRandomBytes(100001);
+		byte[] encoded = CafeBase64.INSTANCE.encode(original, 76);
+		SubmissionPublisher<ByteBuffer> encodingPublisher = 
+				new SubmissionPublisher<ByteBuffer>();
+		CafeBase64Processor encodingProcessor = 
+				new CafeBase64EncodingProcessor(76);
+		RecordingSubscriber encodingSubscriber = new RecordingSubscriber(3L);
+		encodingPublisher.subscribe(encodingProcessor);
+		encodingProcessor.subscribe(encodingSubscriber);
+		submitInChunks(encodingPublisher, original, new Random(3L));
+		assertTrue(encodingSubscriber.await());
+		assertArrayEquals(encoded, encodingSubscriber.getBytes());
+		SubmissionPublisher<ByteBuffer> decodingPublisher = 
+				new SubmissionPublisher<ByteBuffer>();
+		CafeBase64Processor decodingProcessor = 
+				new CafeBase64DecodingProcessor(false);
+		RecordingSubscriber decodingSubscriber = new RecordingSubscriber(3L);
+		decodingPublisher.subscribe(decodingProcessor);
+		decodingProcessor.subscribe(decodingSubscriber);
+		submitInChunks(decodingPublisher, encoded, new Random(4L));
+		assertTrue(decodingSubscriber.await());
+		assertArrayEquals(original, decodingSubscriber.getBytes());
+		assertFalse(decodingSubscriber.isOverflowed());
+	}
+	
+}